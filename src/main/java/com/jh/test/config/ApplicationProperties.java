@@ -1,5 +1,9 @@
 package com.jh.test.config;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,7 +14,318 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Report report = new Report();
+
+    private final Cache cache = new Cache();
+
+    private final Animales animales = new Animales();
+
     // jhipster-needle-application-properties-property
+
+    public Report getReport() {
+        return report;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Animales getAnimales() {
+        return animales;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class Report {
+
+        /**
+         * Location of the {@code .jrxml} (and optional precompiled {@code .jasper}) report templates.
+         */
+        private String templateLocation = "classpath:reports/";
+
+        /**
+         * Recompile a cached template when its source changes, meant for development only.
+         */
+        private boolean reloadOnChange = false;
+
+        /**
+         * Templates compiled when the application starts instead of on first use.
+         */
+        private List<String> preload = new ArrayList<>(List.of("list_user", "list_user_query"));
+
+        /**
+         * Number of rows read from the database at a time while filling a report.
+         */
+        private int fillPageSize = 1000;
+
+        /**
+         * Number of filled pages kept in memory, the others are swapped to disk.
+         */
+        private int virtualizerMaxPages = 100;
+
+        /**
+         * Directory holding the swap files of the reports being generated.
+         */
+        private String swapDirectory = System.getProperty("java.io.tmpdir");
+
+        /**
+         * Number of filled reports of a bundle exported concurrently, one per template.
+         */
+        private int exportPoolSize = 3;
+
+        private final Jobs jobs = new Jobs();
+
+        private final Cache cache = new Cache();
+
+        public String getTemplateLocation() {
+            return templateLocation;
+        }
+
+        public void setTemplateLocation(String templateLocation) {
+            this.templateLocation = templateLocation;
+        }
+
+        public boolean isReloadOnChange() {
+            return reloadOnChange;
+        }
+
+        public void setReloadOnChange(boolean reloadOnChange) {
+            this.reloadOnChange = reloadOnChange;
+        }
+
+        public List<String> getPreload() {
+            return preload;
+        }
+
+        public void setPreload(List<String> preload) {
+            this.preload = preload;
+        }
+
+        public int getFillPageSize() {
+            return fillPageSize;
+        }
+
+        public void setFillPageSize(int fillPageSize) {
+            this.fillPageSize = fillPageSize;
+        }
+
+        public int getVirtualizerMaxPages() {
+            return virtualizerMaxPages;
+        }
+
+        public void setVirtualizerMaxPages(int virtualizerMaxPages) {
+            this.virtualizerMaxPages = virtualizerMaxPages;
+        }
+
+        public String getSwapDirectory() {
+            return swapDirectory;
+        }
+
+        public void setSwapDirectory(String swapDirectory) {
+            this.swapDirectory = swapDirectory;
+        }
+
+        public int getExportPoolSize() {
+            return exportPoolSize;
+        }
+
+        public void setExportPoolSize(int exportPoolSize) {
+            this.exportPoolSize = exportPoolSize;
+        }
+
+        public Jobs getJobs() {
+            return jobs;
+        }
+
+        public Cache getCache() {
+            return cache;
+        }
+
+        public static class Jobs {
+
+            /**
+             * Number of reports generated concurrently in the background.
+             */
+            private int poolSize = 2;
+
+            /**
+             * Number of jobs waiting for a thread before new jobs are rejected.
+             */
+            private int queueCapacity = 20;
+
+            /**
+             * Directory where the generated documents are kept until they expire.
+             */
+            private String spoolDirectory = System.getProperty("java.io.tmpdir") + "/testjh-reports";
+
+            /**
+             * Time a finished job and its document are kept.
+             */
+            private long timeToLiveSeconds = 3600;
+
+            public int getPoolSize() {
+                return poolSize;
+            }
+
+            public void setPoolSize(int poolSize) {
+                this.poolSize = poolSize;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public String getSpoolDirectory() {
+                return spoolDirectory;
+            }
+
+            public void setSpoolDirectory(String spoolDirectory) {
+                this.spoolDirectory = spoolDirectory;
+            }
+
+            public long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+
+        public static class Cache {
+
+            /**
+             * Total size of the cached report documents, in bytes.
+             */
+            private long maxBytes = 64L * 1024 * 1024;
+
+            /**
+             * Size above which a report document is not cached, in bytes.
+             */
+            private int maxEntryBytes = 8 * 1024 * 1024;
+
+            /**
+             * Time a report document stays cached, even if the data has not changed.
+             */
+            private long timeToLiveSeconds = 3600;
+
+            public long getMaxBytes() {
+                return maxBytes;
+            }
+
+            public void setMaxBytes(long maxBytes) {
+                this.maxBytes = maxBytes;
+            }
+
+            public int getMaxEntryBytes() {
+                return maxEntryBytes;
+            }
+
+            public void setMaxEntryBytes(int maxEntryBytes) {
+                this.maxEntryBytes = maxEntryBytes;
+            }
+
+            public long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Size and time to live of individual cache regions, by region name, overriding {@code jhipster.cache.caffeine}.
+         */
+        private Map<String, Region> regions = new HashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries kept in the region, {@code jhipster.cache.caffeine.max-entries} when not set.
+             */
+            private Long maxEntries;
+
+            /**
+             * Time an entry stays in the region, {@code jhipster.cache.caffeine.time-to-live-seconds} when not set.
+             */
+            private Long timeToLiveSeconds;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+    }
+
+    public static class Animales {
+
+        /**
+         * Create the indexes of the {@code animales} collection when the application starts.
+         */
+        private boolean ensureIndexes = true;
+
+        /**
+         * Locale of the case-insensitive default collation the {@code animales} collection is created with, exact matches when
+         * not set. Only applies to a collection that does not exist yet.
+         */
+        private String collationLocale;
+
+        /**
+         * Number of animals written by each bulk write command of {@code POST /api/animals/bulk}.
+         */
+        private int bulkBatchSize = 1000;
+
+        public boolean isEnsureIndexes() {
+            return ensureIndexes;
+        }
+
+        public void setEnsureIndexes(boolean ensureIndexes) {
+            this.ensureIndexes = ensureIndexes;
+        }
+
+        public String getCollationLocale() {
+            return collationLocale;
+        }
+
+        public void setCollationLocale(String collationLocale) {
+            this.collationLocale = collationLocale;
+        }
+
+        public int getBulkBatchSize() {
+            return bulkBatchSize;
+        }
+
+        public void setBulkBatchSize(int bulkBatchSize) {
+            this.bulkBatchSize = bulkBatchSize;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
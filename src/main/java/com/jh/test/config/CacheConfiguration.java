@@ -1,10 +1,17 @@
 package com.jh.test.config;
 
+import com.github.benmanes.caffeine.cache.Weigher;
 import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import java.util.Map;
+import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.concurrent.TimeUnit;
+import javax.cache.configuration.FactoryBuilder;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
@@ -20,16 +27,29 @@ public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
+    private final JHipsterProperties.Cache.Caffeine caffeine;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> reportCacheConfiguration;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Caffeine caffeine = jHipsterProperties.getCache().getCaffeine();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        caffeine = jHipsterProperties.getCache().getCaffeine();
+        regions = applicationProperties.getCache().getRegions();
+        jcacheConfiguration = caffeineConfiguration(caffeine.getMaxEntries(), caffeine.getTimeToLiveSeconds());
 
-        CaffeineConfiguration<Object, Object> caffeineConfiguration = new CaffeineConfiguration<>();
-        caffeineConfiguration.setMaximumSize(OptionalLong.of(caffeine.getMaxEntries()));
-        caffeineConfiguration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(caffeine.getTimeToLiveSeconds())));
-        caffeineConfiguration.setStatisticsEnabled(true);
-        jcacheConfiguration = caffeineConfiguration;
+        // Report documents vary widely in size, so their cache is bounded by bytes rather than entries
+        ApplicationProperties.Report.Cache reportCache = applicationProperties.getReport().getCache();
+        CaffeineConfiguration<Object, Object> reportConfiguration = new CaffeineConfiguration<>();
+        reportConfiguration.setMaximumWeight(OptionalLong.of(reportCache.getMaxBytes()));
+        reportConfiguration.setWeigherFactory(Optional.of(FactoryBuilder.factoryOf(ByteArrayWeigher.class)));
+        reportConfiguration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(reportCache.getTimeToLiveSeconds())));
+        reportConfiguration.setStatisticsEnabled(true);
+        reportCacheConfiguration = reportConfiguration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
     }
 
     @Bean
@@ -37,19 +57,58 @@ public class CacheConfiguration {
         return cm -> {
             createCache(cm, com.jh.test.domain.AppUser.class.getName());
             createCache(cm, com.jh.test.domain.Perfil.class.getName());
+            createCache(cm, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            // The query cache checks its results against these timestamps, so they must never be evicted
+            createCache(cm, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, unboundedConfiguration());
+            createCache(cm, com.jh.test.service.ReportCache.REPORTS_CACHE, reportCacheConfiguration);
+            createCache(cm, com.jh.test.service.AnimalService.STATS_CACHE);
             // jhipster-needle-caffeine-add-entry
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        ApplicationProperties.Cache.Region region = regions.get(cacheName);
+        if (region == null) {
+            createCache(cm, cacheName, jcacheConfiguration);
+        } else {
+            createCache(
+                cm,
+                cacheName,
+                caffeineConfiguration(
+                    region.getMaxEntries() != null ? region.getMaxEntries() : caffeine.getMaxEntries(),
+                    region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : caffeine.getTimeToLiveSeconds()
+                )
+            );
+        }
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
         }
     }
 
+    private static CaffeineConfiguration<Object, Object> caffeineConfiguration(long maxEntries, long timeToLiveSeconds) {
+        CaffeineConfiguration<Object, Object> caffeineConfiguration = new CaffeineConfiguration<>();
+        caffeineConfiguration.setMaximumSize(OptionalLong.of(maxEntries));
+        caffeineConfiguration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(timeToLiveSeconds)));
+        caffeineConfiguration.setStatisticsEnabled(true);
+        return caffeineConfiguration;
+    }
+
+    private static CaffeineConfiguration<Object, Object> unboundedConfiguration() {
+        CaffeineConfiguration<Object, Object> caffeineConfiguration = new CaffeineConfiguration<>();
+        caffeineConfiguration.setStatisticsEnabled(true);
+        return caffeineConfiguration;
+    }
+
     @Autowired(required = false)
     public void setGitProperties(GitProperties gitProperties) {
         this.gitProperties = gitProperties;
@@ -64,4 +123,15 @@ public class CacheConfiguration {
     public KeyGenerator keyGenerator() {
         return new PrefixedKeyGenerator(this.gitProperties, this.buildProperties);
     }
+
+    /**
+     * Weighs the cached byte arrays by their length, any other value counts as one byte.
+     */
+    public static class ByteArrayWeigher implements Weigher<Object, Object> {
+
+        @Override
+        public int weigh(Object key, Object value) {
+            return value instanceof byte[] bytes ? bytes.length : 1;
+        }
+    }
 }
@@ -39,16 +39,24 @@ public class SecurityConfiguration {
                         .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/authenticate")).permitAll()
                         .requestMatchers(mvc.pattern(HttpMethod.PUT, "/api/app-users/**")).permitAll()
                         .requestMatchers(mvc.pattern(HttpMethod.PATCH, "/api/app-users/**")).permitAll()
+                        .requestMatchers(mvc.pattern(HttpMethod.DELETE, "/api/app-users/bulk")).hasAuthority(AuthoritiesConstants.USER)
                         .requestMatchers(mvc.pattern(HttpMethod.DELETE, "/api/app-users/**")).permitAll()
                         .requestMatchers(mvc.pattern(HttpMethod.POST, "/api/app-users")).permitAll()
+                        .requestMatchers(mvc.pattern(HttpMethod.POST, "/api/app-users/bulk")).permitAll()
                         .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/app-users/**")).permitAll()
                         .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/perfils/**")).permitAll()
                         .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/report/**")).permitAll()
+                        .requestMatchers(mvc.pattern(HttpMethod.POST, "/api/report/jobs")).permitAll()
+                        .requestMatchers(mvc.pattern(HttpMethod.POST, "/api/animals/bulk")).hasAuthority(AuthoritiesConstants.USER)
+                        .requestMatchers(mvc.pattern(HttpMethod.DELETE, "/api/animals/bulk")).hasAuthority(AuthoritiesConstants.USER)
                         .requestMatchers(mvc.pattern(HttpMethod.POST, "/api/animals/**")).permitAll()
                         .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/animals/**")).permitAll()
                         .requestMatchers(mvc.pattern(HttpMethod.PUT, "/api/animals/**")).permitAll()
                         .requestMatchers(mvc.pattern(HttpMethod.PATCH, "/api/animals/**")).permitAll()
                         .requestMatchers(mvc.pattern(HttpMethod.DELETE, "/api/animals/**")).permitAll()
+                        .requestMatchers(mvc.pattern(HttpMethod.POST, "/api/reactive/animals/**")).permitAll()
+                        .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/reactive/animals/**")).permitAll()
+                        .requestMatchers(mvc.pattern(HttpMethod.DELETE, "/api/reactive/animals/**")).permitAll()
                         .requestMatchers(mvc.pattern("/api/admin/**")).hasAuthority(AuthoritiesConstants.ADMIN)
                         .requestMatchers(mvc.pattern("/api/**")).authenticated()
                         .requestMatchers(mvc.pattern("/v3/api-docs/**")).hasAuthority(AuthoritiesConstants.ADMIN)
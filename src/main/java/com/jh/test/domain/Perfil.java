@@ -3,20 +3,23 @@ package com.jh.test.domain;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A Perfil.
  */
 @Entity
 @Table(name = "perfil")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Perfil implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "perfilSequenceGenerator")
+    @SequenceGenerator(name = "perfilSequenceGenerator", sequenceName = "perfil_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -25,6 +28,10 @@ public class Perfil implements Serializable {
     @Column(name = "name", length = 255, nullable = false)
     private String name;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -53,6 +60,14 @@ public class Perfil implements Serializable {
         this.name = name;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
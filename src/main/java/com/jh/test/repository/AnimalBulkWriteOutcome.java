@@ -0,0 +1,24 @@
+package com.jh.test.repository;
+
+/**
+ * Outcome of the write of one {@link com.jh.test.domain.Animal} within a bulk write.
+ *
+ * @param id     the id of the animal, {@code null} if it could not be written or found.
+ * @param status what was done with the animal.
+ * @param error  the reason the animal could not be written, {@code null} if it was.
+ */
+public record AnimalBulkWriteOutcome(String id, Status status, String error) {
+    /**
+     * What was done with an animal of a bulk write.
+     */
+    public enum Status {
+        INSERTED,
+        MODIFIED,
+        UNCHANGED,
+        FAILED,
+    }
+
+    public static AnimalBulkWriteOutcome failed(String error) {
+        return new AnimalBulkWriteOutcome(null, Status.FAILED, error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.jh.test.repository;
+
+import java.util.List;
+
+/**
+ * Number of {@link com.jh.test.domain.Animal} of a species, with its most frequent names, computed by an aggregation.
+ *
+ * @param especie the species.
+ * @param count   the number of animals of the species.
+ * @param nombres the most frequent names of the species, the most frequent first.
+ */
+public record AnimalEspecieStats(String especie, long count, List<NombreCount> nombres) {
+    /**
+     * Number of animals of a species with a name.
+     *
+     * @param nombre the name.
+     * @param count  the number of animals of the species with the name.
+     */
+    public record NombreCount(String nombre, long count) {}
+}
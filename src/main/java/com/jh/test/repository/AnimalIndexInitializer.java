@@ -0,0 +1,92 @@
+package com.jh.test.repository;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.stereotype.Component;
+
+import com.jh.test.config.ApplicationProperties;
+import com.jh.test.domain.Animal;
+
+/**
+ * Creates the indexes of the {@code animales} collection serving the {@link AnimalRepository} queries, once the
+ * application has started.
+ * <p>
+ * Every index ends with {@code _id}, so the pages following a cursor are read in index order, without sorting.
+ * When {@code application.animales.collation-locale} is set, a missing collection is first created with a
+ * case-insensitive default collation, which its indexes and queries then use.
+ */
+@Component
+public class AnimalIndexInitializer {
+
+    static final List<Index> INDEXES = List.of(
+            // findByEspecieAndNombre and the pages following an id
+            new Index().on("especie", Sort.Direction.ASC).on("nombre", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                    .named("especie_nombre_id"),
+            // findByEspecie and the pages following an id
+            new Index().on("especie", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("especie_id"),
+            // findByNombre and the pages following an id
+            new Index().on("nombre", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("nombre_id"));
+
+    private final Logger log = LoggerFactory.getLogger(AnimalIndexInitializer.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ApplicationProperties.Animales properties;
+
+    public AnimalIndexInitializer(MongoTemplate mongoTemplate, ApplicationProperties applicationProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = applicationProperties.getAnimales();
+    }
+
+    /**
+     * Create the collection and its indexes, unless they already exist.
+     * <p>
+     * A failure is logged rather than thrown: the queries still work, by scanning the collection.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!properties.isEnsureIndexes()) {
+            return;
+        }
+        try {
+            ensureCollection();
+            IndexOperations indexOperations = mongoTemplate.indexOps(Animal.class);
+            for (Index index : INDEXES) {
+                indexOperations.ensureIndex(index);
+            }
+            log.debug("Ensured {} indexes on the animales collection", INDEXES.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not create the indexes of the animales collection: {}", e.getMessage());
+        }
+    }
+
+    private void ensureCollection() {
+        String locale = properties.getCollationLocale();
+        if (locale == null) {
+            return;
+        }
+        if (!mongoTemplate.collectionExists(Animal.class)) {
+            // Strength 2 compares the letters and their accents, but not their case
+            mongoTemplate.createCollection(Animal.class, CollectionOptions.just(Collation.of(locale).strength(2)));
+            log.info("Created the animales collection with the {} case-insensitive collation", locale);
+            return;
+        }
+        Document collection = mongoTemplate.getDb().listCollections()
+                .filter(new Document("name", mongoTemplate.getCollectionName(Animal.class))).first();
+        Document options = collection == null ? null : collection.get("options", Document.class);
+        if (options == null || options.get("collation") == null) {
+            log.warn("The animales collection already exists without a collation, so its matches stay case-sensitive");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.jh.test.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.jh.test.domain.Animal;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link AnimalRepository}, served by the same indexes.
+ */
+public interface AnimalReactiveRepository extends ReactiveMongoRepository<Animal, String> {
+    Flux<Animal> findAllBy(Pageable pageable);
+
+    Flux<Animal> findByEspecie(String especie, Pageable pageable);
+
+    Flux<Animal> findByNombre(String nombre, Pageable pageable);
+
+    Flux<Animal> findByEspecieAndNombre(String especie, String nombre, Pageable pageable);
+
+    // Un solo comando delete, que devuelve el número de animales borrados
+    Mono<Long> removeById(String id);
+}
@@ -1,15 +1,35 @@
 package com.jh.test.repository;
 
-import java.util.List;
+import java.util.Collection;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.jh.test.domain.Animal;
 
-public interface AnimalRepository extends MongoRepository<Animal, String> {
-    List<Animal> findByEspecie(String especie);
+public interface AnimalRepository
+        extends MongoRepository<Animal, String>, AnimalRepositoryWithReplace, AnimalRepositoryWithStream,
+        AnimalRepositoryWithBulk, AnimalRepositoryWithStats {
+    Page<Animal> findByEspecie(String especie, Pageable pageable);
 
-    List<Animal> findByNombre(String nombre);
+    Page<Animal> findByNombre(String nombre, Pageable pageable);
 
-    List<Animal> findByEspecieAndNombre(String especie, String nombre);
+    Page<Animal> findByEspecieAndNombre(String especie, String nombre, Pageable pageable);
+
+    // Páginas por _id (keyset): cada página empieza tras el último id leído, sin saltar ni contar documentos
+    Slice<Animal> findByIdGreaterThan(String id, Pageable pageable);
+
+    Slice<Animal> findByEspecieAndIdGreaterThan(String especie, String id, Pageable pageable);
+
+    Slice<Animal> findByNombreAndIdGreaterThan(String nombre, String id, Pageable pageable);
+
+    Slice<Animal> findByEspecieAndNombreAndIdGreaterThan(String especie, String nombre, String id, Pageable pageable);
+
+    // Un solo comando delete, que devuelve el número de animales borrados
+    long removeById(String id);
+
+    // Un solo comando delete con $in, sea cual sea el número de animales
+    long removeByIdIn(Collection<String> ids);
 }
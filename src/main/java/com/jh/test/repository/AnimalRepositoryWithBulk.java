@@ -0,0 +1,30 @@
+package com.jh.test.repository;
+
+import java.util.List;
+
+import com.jh.test.domain.Animal;
+
+/**
+ * Writes of many {@link Animal} sent to MongoDB as a single unordered {@code bulkWrite}, so a failing animal does not
+ * prevent the others from being written.
+ */
+public interface AnimalRepositoryWithBulk {
+    /**
+     * Insert animals; the ones without id get a new one.
+     *
+     * @param animales the animals to insert.
+     * @return the outcome of every animal, in the order of the animals.
+     */
+    List<AnimalBulkWriteOutcome> insertAll(List<Animal> animales);
+
+    /**
+     * Insert the animals whose {@code especie} and {@code nombre} are not stored yet, and leave the others as they are.
+     * <p>
+     * No unique index backs {@code {especie, nombre}}, as several animals may share them: this is not safe under
+     * concurrency, and two bulk writes upserting the same animal at the same time may both insert it.
+     *
+     * @param animales the animals to insert; their ids are ignored.
+     * @return the outcome of every animal, in the order of the animals.
+     */
+    List<AnimalBulkWriteOutcome> upsertAllByEspecieAndNombre(List<Animal> animales);
+}
@@ -0,0 +1,132 @@
+package com.jh.test.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.jh.test.domain.Animal;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+
+/**
+ * Implementation of {@link AnimalRepositoryWithBulk}, with a {@code bulkWrite} of {@code insert} or {@code update}
+ * operations.
+ */
+public class AnimalRepositoryWithBulkImpl implements AnimalRepositoryWithBulk {
+
+    private final MongoTemplate mongoTemplate;
+
+    public AnimalRepositoryWithBulkImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<AnimalBulkWriteOutcome> insertAll(List<Animal> animales) {
+        // Los ids se asignan aquí, para conocerlos sin volver a leer los animales
+        for (Animal animal : animales) {
+            if (animal.getId() == null) {
+                animal.setId(new ObjectId().toHexString());
+            }
+        }
+        Map<Integer, String> errors = new HashMap<>();
+        execute(mongoTemplate.bulkOps(BulkMode.UNORDERED, Animal.class).insert(animales), errors);
+        List<AnimalBulkWriteOutcome> outcomes = new ArrayList<>(animales.size());
+        for (int index = 0; index < animales.size(); index++) {
+            String error = errors.get(index);
+            outcomes.add(error == null
+                    ? new AnimalBulkWriteOutcome(animales.get(index).getId(), AnimalBulkWriteOutcome.Status.INSERTED, null)
+                    : AnimalBulkWriteOutcome.failed(error));
+        }
+        return outcomes;
+    }
+
+    @Override
+    public List<AnimalBulkWriteOutcome> upsertAllByEspecieAndNombre(List<Animal> animales) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkMode.UNORDERED, Animal.class);
+        for (Animal animal : animales) {
+            // Solo $setOnInsert: un animal que ya existe se encuentra, pero no se modifica
+            operations.upsert(naturalKey(animal), new Update().setOnInsert("especie", animal.getEspecie())
+                    .setOnInsert("nombre", animal.getNombre()));
+        }
+        Map<Integer, String> errors = new HashMap<>();
+        BulkWriteResult result = execute(operations, errors);
+        Map<Integer, String> upsertedIds = new HashMap<>();
+        for (BulkWriteUpsert upsert : result.getUpserts()) {
+            upsertedIds.put(upsert.getIndex(), upsert.getId().asObjectId().getValue().toHexString());
+        }
+        // Los contadores no dicen qué animales se han modificado, solo cuántos: ninguno, salvo que otro cliente los
+        // cambie a la vez
+        AnimalBulkWriteOutcome.Status matched = result.getModifiedCount() == 0 ? AnimalBulkWriteOutcome.Status.UNCHANGED
+                : AnimalBulkWriteOutcome.Status.MODIFIED;
+
+        // Los animales que ya existían no devuelven su id: se leen con un solo find
+        List<Criteria> existing = new ArrayList<>();
+        for (int index = 0; index < animales.size(); index++) {
+            if (!upsertedIds.containsKey(index) && !errors.containsKey(index)) {
+                existing.add(naturalKeyCriteria(animales.get(index)));
+            }
+        }
+        Map<List<String>, String> existingIds = new HashMap<>();
+        if (!existing.isEmpty()) {
+            Query query = query(new Criteria().orOperator(existing));
+            query.fields().include("especie", "nombre");
+            for (Animal animal : mongoTemplate.find(query, Animal.class)) {
+                existingIds.putIfAbsent(List.of(animal.getEspecie(), animal.getNombre()), animal.getId());
+            }
+        }
+
+        List<AnimalBulkWriteOutcome> outcomes = new ArrayList<>(animales.size());
+        for (int index = 0; index < animales.size(); index++) {
+            Animal animal = animales.get(index);
+            if (errors.containsKey(index)) {
+                outcomes.add(AnimalBulkWriteOutcome.failed(errors.get(index)));
+            } else if (upsertedIds.containsKey(index)) {
+                outcomes.add(new AnimalBulkWriteOutcome(upsertedIds.get(index), AnimalBulkWriteOutcome.Status.INSERTED,
+                        null));
+            } else {
+                outcomes.add(new AnimalBulkWriteOutcome(
+                        existingIds.get(List.of(animal.getEspecie(), animal.getNombre())), matched, null));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Execute the operations, collecting the errors by index of the operation.
+     *
+     * @return the result of the operations written.
+     */
+    private static BulkWriteResult execute(BulkOperations operations, Map<Integer, String> errors) {
+        try {
+            return operations.execute();
+        } catch (BulkOperationException e) {
+            // Sin orden, MongoDB escribe todas las operaciones que no fallan
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+            return e.getResult();
+        }
+    }
+
+    private static Query naturalKey(Animal animal) {
+        return query(naturalKeyCriteria(animal));
+    }
+
+    private static Criteria naturalKeyCriteria(Animal animal) {
+        return where("especie").is(animal.getEspecie()).and("nombre").is(animal.getNombre());
+    }
+}
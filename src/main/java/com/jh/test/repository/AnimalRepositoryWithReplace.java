@@ -0,0 +1,18 @@
+package com.jh.test.repository;
+
+import java.util.Optional;
+
+import com.jh.test.domain.Animal;
+
+/**
+ * Write operations of {@link Animal} sent to MongoDB as a single command.
+ */
+public interface AnimalRepositoryWithReplace {
+    /**
+     * Replace an existing animal, without inserting it if it does not exist.
+     *
+     * @param animal the animal, with the id of the one to replace.
+     * @return the animal replaced, as stored, or empty if it does not exist.
+     */
+    Optional<Animal> replace(Animal animal);
+}
@@ -0,0 +1,30 @@
+package com.jh.test.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.Optional;
+
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.jh.test.domain.Animal;
+
+/**
+ * Implementation of {@link AnimalRepositoryWithReplace}, with a {@code findAndModify} command.
+ */
+public class AnimalRepositoryWithReplaceImpl implements AnimalRepositoryWithReplace {
+
+    private final MongoTemplate mongoTemplate;
+
+    public AnimalRepositoryWithReplaceImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<Animal> replace(Animal animal) {
+        return Optional.ofNullable(
+                mongoTemplate.findAndReplace(query(where("id").is(animal.getId())), animal,
+                        FindAndReplaceOptions.options().returnNew()));
+    }
+}
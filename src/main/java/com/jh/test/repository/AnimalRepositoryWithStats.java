@@ -0,0 +1,18 @@
+package com.jh.test.repository;
+
+import java.util.List;
+
+import com.jh.test.domain.Animal;
+
+/**
+ * Statistics of {@link Animal} computed by MongoDB with an aggregation pipeline, rather than from the animals.
+ */
+public interface AnimalRepositoryWithStats {
+    /**
+     * Count the animals of every species, with the most frequent names of each.
+     *
+     * @param topNombres the number of names returned for every species.
+     * @return the species, the one with the most animals first.
+     */
+    List<AnimalEspecieStats> countByEspecie(int topNombres);
+}
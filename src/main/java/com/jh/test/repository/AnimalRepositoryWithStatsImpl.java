@@ -0,0 +1,56 @@
+package com.jh.test.repository;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import com.jh.test.domain.Animal;
+
+/**
+ * Implementation of {@link AnimalRepositoryWithStats}, with a single {@code aggregate} command.
+ */
+public class AnimalRepositoryWithStatsImpl implements AnimalRepositoryWithStats {
+
+    private final MongoTemplate mongoTemplate;
+
+    public AnimalRepositoryWithStatsImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<AnimalEspecieStats> countByEspecie(int topNombres) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                // Ordenados y proyectados sobre especie y nombre, se leen del índice especie_nombre_id sin tocar los
+                // documentos
+                Aggregation.sort(Sort.by("especie", "nombre")),
+                Aggregation.project("especie", "nombre").andExclude("_id"),
+                Aggregation.group("especie", "nombre").count().as("count"),
+                // $push conserva el orden de entrada, así cada especie junta sus nombres ya ordenados; se usa en lugar
+                // de $topN, que exige MongoDB 5.2
+                context -> new Document("$sort", new Document("count", -1).append("_id.nombre", 1)),
+                context -> new Document("$group", new Document("_id", "$_id.especie")
+                        .append("count", new Document("$sum", "$count"))
+                        .append("nombres", new Document("$push",
+                                new Document("nombre", "$_id.nombre").append("count", "$count")))),
+                context -> new Document("$project", new Document("count", 1)
+                        .append("nombres", new Document("$slice", List.of("$nombres", topNombres)))),
+                context -> new Document("$sort", new Document("count", -1).append("_id", 1)));
+        return mongoTemplate.aggregate(aggregation, Animal.class, Document.class)
+                .getMappedResults()
+                .stream()
+                .map(especie -> new AnimalEspecieStats(especie.getString("_id"), count(especie),
+                        especie.getList("nombres", Document.class)
+                                .stream()
+                                .map(nombre -> new AnimalEspecieStats.NombreCount(nombre.getString("nombre"),
+                                        count(nombre)))
+                                .toList()))
+                .toList();
+    }
+
+    private static long count(Document document) {
+        return document.get("count", Number.class).longValue();
+    }
+}
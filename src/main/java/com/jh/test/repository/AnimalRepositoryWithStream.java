@@ -0,0 +1,20 @@
+package com.jh.test.repository;
+
+import java.util.stream.Stream;
+
+import com.jh.test.domain.Animal;
+
+/**
+ * Reads of {@link Animal} streamed from a MongoDB cursor.
+ */
+public interface AnimalRepositoryWithStream {
+    /**
+     * Stream the animals, ordered by id, fetching them a batch at a time.
+     *
+     * @param especie   the species of the animals, or {@code null} for any.
+     * @param nombre    the name of the animals, or {@code null} for any.
+     * @param batchSize the number of animals fetched by each command.
+     * @return the animals, to be closed once read.
+     */
+    Stream<Animal> streamAll(String especie, String nombre, int batchSize);
+}
@@ -0,0 +1,35 @@
+package com.jh.test.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.jh.test.domain.Animal;
+
+/**
+ * Implementation of {@link AnimalRepositoryWithStream}, with a {@code find} command followed by {@code getMore} commands.
+ */
+public class AnimalRepositoryWithStreamImpl implements AnimalRepositoryWithStream {
+
+    private final MongoTemplate mongoTemplate;
+
+    public AnimalRepositoryWithStreamImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Stream<Animal> streamAll(String especie, String nombre, int batchSize) {
+        Query query = new Query().with(Sort.by("id")).cursorBatchSize(batchSize);
+        if (especie != null) {
+            query.addCriteria(where("especie").is(especie));
+        }
+        if (nombre != null) {
+            query.addCriteria(where("nombre").is(nombre));
+        }
+        return mongoTemplate.stream(query, Animal.class);
+    }
+}
@@ -1,7 +1,16 @@
 package com.jh.test.repository;
 
 import com.jh.test.domain.AppUser;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,108 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AppUserRepository extends JpaRepository<AppUser, Long> {}
+public interface AppUserRepository extends JpaRepository<AppUser, Long> {
+    default Optional<AppUser> findOneWithEagerRelationships(Long id) {
+        return this.findOneWithToOneRelationships(id);
+    }
+
+    @Query("select appUser from AppUser appUser left join fetch appUser.perfil where appUser.id =:id")
+    Optional<AppUser> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query(
+        "select new com.jh.test.repository.AppUserVersion(appUser.version, perfil.version)" +
+        " from AppUser appUser left join appUser.perfil perfil where appUser.id = :id"
+    )
+    Optional<AppUserVersion> findVersionById(@Param("id") Long id);
+
+    // A single delete statement, without loading the appUsers; Hibernate evicts the AppUser cache region and the cached queries
+    @Modifying
+    @Query("delete from AppUser appUser where appUser.id in :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(
+        value = "select new com.jh.test.repository.AppUserSummary(" +
+        "appUser.id, appUser.name, appUser.lastname, appUser.version, perfil.id, perfil.name, perfil.version)" +
+        " from AppUser appUser left join appUser.perfil perfil",
+        countQuery = "select count(appUser) from AppUser appUser"
+    )
+    Page<AppUserSummary> findAllSummaries(Pageable pageable);
+
+    @Query(
+        "select new com.jh.test.repository.AppUserSummary(" +
+        "appUser.id, appUser.name, appUser.lastname, appUser.version, perfil.id, perfil.name, perfil.version)" +
+        " from AppUser appUser left join appUser.perfil perfil where appUser.id > :id order by appUser.id"
+    )
+    Slice<AppUserSummary> findNextSummaries(@Param("id") Long id, Pageable pageable);
+
+    // The lookups below are served by the indexes of 20261018000100_added_indexes_AppUser.xml, see AppUserRepositoryQueryPlanIT
+
+    @Query(
+        value = "select new com.jh.test.repository.AppUserSummary(" +
+        "appUser.id, appUser.name, appUser.lastname, appUser.version, perfil.id, perfil.name, perfil.version)" +
+        " from AppUser appUser left join appUser.perfil perfil where appUser.perfil.id = :perfilId",
+        countQuery = "select count(appUser) from AppUser appUser where appUser.perfil.id = :perfilId"
+    )
+    Page<AppUserSummary> findAllSummariesByPerfilId(@Param("perfilId") Long perfilId, Pageable pageable);
+
+    @Query(
+        value = "select new com.jh.test.repository.AppUserSummary(" +
+        "appUser.id, appUser.name, appUser.lastname, appUser.version, perfil.id, perfil.name, perfil.version)" +
+        " from AppUser appUser left join appUser.perfil perfil where lower(appUser.name) like :pattern escape '\\'",
+        countQuery = "select count(appUser) from AppUser appUser where lower(appUser.name) like :pattern escape '\\'"
+    )
+    Page<AppUserSummary> findAllSummariesByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(
+        value = "select new com.jh.test.repository.AppUserSummary(" +
+        "appUser.id, appUser.name, appUser.lastname, appUser.version, perfil.id, perfil.name, perfil.version)" +
+        " from AppUser appUser left join appUser.perfil perfil where lower(appUser.lastname) like :pattern escape '\\'",
+        countQuery = "select count(appUser) from AppUser appUser where lower(appUser.lastname) like :pattern escape '\\'"
+    )
+    Page<AppUserSummary> findAllSummariesByLastnameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(
+        value = "select new com.jh.test.repository.AppUserSummary(" +
+        "appUser.id, appUser.name, appUser.lastname, appUser.version, perfil.id, perfil.name, perfil.version)" +
+        " from AppUser appUser left join appUser.perfil perfil" +
+        " where lower(appUser.name) like :pattern escape '\\' or lower(appUser.lastname) like :pattern escape '\\'",
+        countQuery = "select count(appUser) from AppUser appUser" +
+        " where lower(appUser.name) like :pattern escape '\\' or lower(appUser.lastname) like :pattern escape '\\'"
+    )
+    Page<AppUserSummary> findAllSummariesByNameOrLastnameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    // Full-text searches over the search_vector maintained by the triggers of 20261018000200_added_search_vector_AppUser.xml,
+    // by relevance then id; the next slice starts after the (rank, id) of the last hit
+    String SEARCH_HITS =
+        "select appUser.id as \"id\", appUser.name as \"name\", appUser.lastname as \"lastname\", appUser.version as \"version\"," +
+        " perfil.id as \"perfilId\", perfil.name as \"perfilName\", perfil.version as \"perfilVersion\"," +
+        " ts_rank(appUser.search_vector, query) as \"rank\"" +
+        " from app_user appUser left join perfil perfil on perfil.id = appUser.perfil_id, to_tsquery('simple', :query) query" +
+        " where appUser.search_vector @@ query";
+
+    @Query(value = "select * from (" + SEARCH_HITS + ") hit order by hit.\"rank\" desc, hit.\"id\"", nativeQuery = true)
+    Slice<AppUserSearchHit> search(@Param("query") String query, Pageable pageable);
+
+    @Query(
+        value = "select * from (" +
+        SEARCH_HITS +
+        ") hit where hit.\"rank\" < :rank or (hit.\"rank\" = :rank and hit.\"id\" > :id) order by hit.\"rank\" desc, hit.\"id\"",
+        nativeQuery = true
+    )
+    Slice<AppUserSearchHit> searchAfter(@Param("query") String query, @Param("rank") float rank, @Param("id") Long id, Pageable pageable);
+
+    // Read through a server-side cursor, a fetch size at a time; must be consumed inside a transaction and closed
+    @Query(
+        "select new com.jh.test.repository.AppUserSummary(" +
+        "appUser.id, appUser.name, appUser.lastname, appUser.version, perfil.id, perfil.name, perfil.version)" +
+        " from AppUser appUser left join appUser.perfil perfil order by appUser.id"
+    )
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+        }
+    )
+    Stream<AppUserSummary> streamAllSummaries();
+}
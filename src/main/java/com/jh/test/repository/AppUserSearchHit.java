@@ -0,0 +1,34 @@
+package com.jh.test.repository;
+
+/**
+ * Read-only projection of an {@link com.jh.test.domain.AppUser} matching a full-text search, with its relevance.
+ */
+public interface AppUserSearchHit {
+    Long getId();
+
+    String getName();
+
+    String getLastname();
+
+    Long getVersion();
+
+    /**
+     * @return the id of the perfil, {@code null} when the appUser has none.
+     */
+    Long getPerfilId();
+
+    /**
+     * @return the name of the perfil, {@code null} when the appUser has none.
+     */
+    String getPerfilName();
+
+    /**
+     * @return the version of the perfil, {@code null} when the appUser has none.
+     */
+    Long getPerfilVersion();
+
+    /**
+     * @return the relevance of the appUser, higher is better.
+     */
+    Float getRank();
+}
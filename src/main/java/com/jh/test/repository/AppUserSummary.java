@@ -0,0 +1,25 @@
+package com.jh.test.repository;
+
+/**
+ * Read-only projection of an {@link com.jh.test.domain.AppUser} and its perfil, selected with a constructor expression.
+ * <p>
+ * Projections are not managed entities: reading them skips the persistence context, its dirty-checking snapshots and the
+ * entity to DTO copy, which is all a read-only listing needs.
+ *
+ * @param id the id of the appUser.
+ * @param name the name of the appUser.
+ * @param lastname the lastname of the appUser.
+ * @param version the version of the appUser.
+ * @param perfilId the id of the perfil, {@code null} when the appUser has none.
+ * @param perfilName the name of the perfil, {@code null} when the appUser has none.
+ * @param perfilVersion the version of the perfil, {@code null} when the appUser has none.
+ */
+public record AppUserSummary(
+    Long id,
+    String name,
+    String lastname,
+    Long version,
+    Long perfilId,
+    String perfilName,
+    Long perfilVersion
+) {}
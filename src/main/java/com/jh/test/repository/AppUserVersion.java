@@ -0,0 +1,10 @@
+package com.jh.test.repository;
+
+/**
+ * Versions of an {@link com.jh.test.domain.AppUser} and of its perfil, which together identify the representation of the
+ * appUser, selected with a constructor expression.
+ *
+ * @param version the version of the appUser.
+ * @param perfilVersion the version of the perfil, {@code null} when the appUser has none.
+ */
+public record AppUserVersion(Long version, Long perfilVersion) {}
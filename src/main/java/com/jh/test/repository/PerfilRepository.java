@@ -1,7 +1,16 @@
 package com.jh.test.repository;
 
 import com.jh.test.domain.Perfil;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,23 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PerfilRepository extends JpaRepository<Perfil, Long> {}
+public interface PerfilRepository extends JpaRepository<Perfil, Long> {
+    // Perfils are few and rarely change, so their pages are served from the query cache
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Perfil> findAll(Pageable pageable);
+
+    @Query("select perfil from Perfil perfil where perfil.id > :id order by perfil.id")
+    Slice<Perfil> findNext(@Param("id") Long id, Pageable pageable);
+
+    @Query("select perfil.id from Perfil perfil where perfil.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select perfil.version from Perfil perfil where perfil.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // A single delete statement, without loading the perfils; Hibernate evicts the Perfil cache region and the cached queries
+    @Modifying
+    @Query("delete from Perfil perfil where perfil.id in :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+}
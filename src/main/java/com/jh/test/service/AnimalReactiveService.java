@@ -0,0 +1,101 @@
+package com.jh.test.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.jh.test.domain.Animal;
+import com.jh.test.repository.AnimalReactiveRepository;
+import com.jh.test.service.dto.AnimalDTO;
+import com.jh.test.service.mapper.AnimalMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking Service Implementation for managing {@link com.jh.test.domain.Animal}.
+ * <p>
+ * Nothing is read or written until the returned publishers are subscribed to, and no thread waits for MongoDB meanwhile.
+ */
+@Service
+public class AnimalReactiveService {
+
+    private final AnimalReactiveRepository animalReactiveRepository;
+    private final AnimalMapper animalMapper;
+    private final Logger log = LoggerFactory.getLogger(AnimalReactiveService.class);
+
+    public AnimalReactiveService(AnimalReactiveRepository animalReactiveRepository, AnimalMapper animalMapper) {
+        this.animalReactiveRepository = animalReactiveRepository;
+        this.animalMapper = animalMapper;
+    }
+
+    /**
+     * Save an animal.
+     *
+     * @param animalDTO the entity to save.
+     * @return the persisted entity.
+     */
+    public Mono<AnimalDTO> guardarAnimal(AnimalDTO animalDTO) {
+        log.debug("Request to save Animal : {}", animalDTO);
+        Animal animal = animalMapper.toEntity(animalDTO);
+        return animalReactiveRepository.save(animal).map(animalMapper::toDto);
+    }
+
+    /**
+     * Get one animal by id.
+     *
+     * @param id the id of the entity.
+     * @return the entity, or empty if it does not exist.
+     */
+    public Mono<AnimalDTO> buscarPorId(String id) {
+        log.debug("Request to get Animal : {}", id);
+        return animalReactiveRepository.findById(id).map(animalMapper::toDto);
+    }
+
+    /**
+     * Get a page of the animals, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the animals of the page.
+     */
+    public Flux<AnimalDTO> listarTodos(Pageable pageable) {
+        log.debug("Request to get a page of Animals");
+        return animalReactiveRepository.findAllBy(pageable).map(animalMapper::toDto);
+    }
+
+    /**
+     * Get a page of the animals matching the given species and name, without
+     * counting them.
+     *
+     * @param especie  the species of the animals, or {@code null} for any.
+     * @param nombre   the name of the animals, or {@code null} for any.
+     * @param pageable the pagination information.
+     * @return the animals of the page.
+     */
+    public Flux<AnimalDTO> buscar(String especie, String nombre, Pageable pageable) {
+        log.debug("Request to get a page of Animals by species '{}' and name '{}'", especie, nombre);
+        Flux<Animal> animales;
+        if (especie != null && nombre != null) {
+            animales = animalReactiveRepository.findByEspecieAndNombre(especie, nombre, pageable);
+        } else if (especie != null) {
+            animales = animalReactiveRepository.findByEspecie(especie, pageable);
+        } else if (nombre != null) {
+            animales = animalReactiveRepository.findByNombre(nombre, pageable);
+        } else {
+            animales = animalReactiveRepository.findAllBy(pageable);
+        }
+        return animales.map(animalMapper::toDto);
+    }
+
+    /**
+     * Delete the animal by id.
+     *
+     * @param id the id of the entity.
+     * @return true if the animal existed and was deleted.
+     */
+    public Mono<Boolean> eliminarAnimal(String id) {
+        log.debug("Request to delete Animal : {}", id);
+        return animalReactiveRepository.removeById(id).map(deleted -> deleted > 0);
+    }
+}
@@ -1,19 +1,52 @@
 package com.jh.test.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jh.test.config.ApplicationProperties;
 import com.jh.test.domain.Animal;
+import com.jh.test.repository.AnimalBulkWriteOutcome;
+import com.jh.test.repository.AnimalEspecieStats;
 import com.jh.test.repository.AnimalRepository;
+import com.jh.test.service.dto.AnimalBulkItemResultDTO;
 import com.jh.test.service.dto.AnimalDTO;
+import com.jh.test.service.dto.AnimalStatsDTO;
+import com.jh.test.service.dto.BulkItemResultDTO;
 import com.jh.test.service.mapper.AnimalMapper;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
 /**
  * Service Implementation for managing {@link com.jh.test.domain.Animal}.
  */
@@ -21,13 +54,39 @@ import com.jh.test.service.mapper.AnimalMapper;
 @Transactional
 public class AnimalService {
 
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    public static final String BULK_BATCH_TIMER_NAME = "animales.bulk.batch";
+
+    public static final String BULK_ITEMS_COUNTER_NAME = "animales.bulk.items";
+
+    public static final String STATS_CACHE = "animal-stats";
+
+    public static final int DEFAULT_TOP_NOMBRES = 5;
+
+    public static final int MAX_TOP_NOMBRES = 100;
+
+    // Menor que cualquier ObjectId, para empezar por el primer animal
+    private static final String FIRST_ID = "000000000000000000000000";
+
     private final AnimalRepository animalRepository;
     private final AnimalMapper animalMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+    private final int bulkBatchSize;
     private final Logger log = LoggerFactory.getLogger(AppUserService.class);
 
-    public AnimalService(AnimalRepository animalRepository, AnimalMapper animalMapper) {
+    public AnimalService(AnimalRepository animalRepository, AnimalMapper animalMapper, ObjectMapper objectMapper,
+            Validator validator, MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
         this.animalRepository = animalRepository;
         this.animalMapper = animalMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+        this.bulkBatchSize = Math.max(1, applicationProperties.getAnimales().getBulkBatchSize());
     }
 
     /**
@@ -44,53 +103,237 @@ public class AnimalService {
     }
 
     /**
-     * Retrieves a list of AnimalDTO objects based on the specified species.
+     * Save animals in bulk.
+     * <p>
+     * Every animal is validated first; the valid ones are then written in
+     * unordered {@code bulkWrite} commands of
+     * {@code application.animales.bulk-batch-size} animals, so an animal failing
+     * to be written does not prevent the others from being written. The time
+     * spent on every batch is recorded by the {@value #BULK_BATCH_TIMER_NAME}
+     * timer and the outcomes are counted by the
+     * {@value #BULK_ITEMS_COUNTER_NAME} counter.
      *
-     * @param especie the species of animals to search for
-     * @return a list of AnimalDTO objects matching the specified species
+     * @param animalDTOs the animals to save.
+     * @param firstIndex the index of the first animal in the request, when the
+     *                   animals are a part of it.
+     * @param upsert     whether to insert only the animals whose species and
+     *                   name are not stored yet, rather than inserting every
+     *                   animal; not safe under concurrency, see
+     *                   {@link AnimalRepository#upsertAllByEspecieAndNombre(List)}.
+     * @return the result of every animal, in the order of the animals.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<AnimalBulkItemResultDTO> guardarAnimales(List<AnimalDTO> animalDTOs, int firstIndex,
+            boolean upsert) {
+        log.debug("Request to save {} Animals in bulk from {}, upsert: {}", animalDTOs.size(), firstIndex, upsert);
+        AnimalBulkItemResultDTO[] results = new AnimalBulkItemResultDTO[animalDTOs.size()];
+        List<Integer> indexes = new ArrayList<>();
+        List<Animal> animales = new ArrayList<>();
+        for (int index = 0; index < animalDTOs.size(); index++) {
+            Set<ConstraintViolation<AnimalDTO>> violations = validator.validate(animalDTOs.get(index));
+            if (violations.isEmpty()) {
+                indexes.add(index);
+                animales.add(animalMapper.toEntity(animalDTOs.get(index)));
+            } else {
+                results[index] = AnimalBulkItemResultDTO.failed(index, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+        for (int from = 0; from < animales.size(); from += bulkBatchSize) {
+            int to = Math.min(from + bulkBatchSize, animales.size());
+            guardarLote(indexes.subList(from, to), animales.subList(from, to), upsert, results);
+        }
+        Map<BulkItemResultDTO.Status, Long> counts = Arrays.stream(results)
+                .collect(Collectors.groupingBy(AnimalBulkItemResultDTO::getStatus, Collectors.counting()));
+        counts.forEach((status, count) -> Counter.builder(BULK_ITEMS_COUNTER_NAME)
+                .description("Animals of the bulk requests, by outcome")
+                .tag("mode", upsert ? "upsert" : "insert")
+                .tag("status", status.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment(count));
+        log.info("Saved {} Animals in bulk: {}", results.length, counts);
+        for (AnimalBulkItemResultDTO result : results) {
+            result.setIndex(firstIndex + result.getIndex());
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Get the number of animals written by each bulk write command.
+     *
+     * @return the size of the bulk write batches.
+     */
+    public int getBulkBatchSize() {
+        return bulkBatchSize;
+    }
+
+    private void guardarLote(List<Integer> indexes, List<Animal> animales, boolean upsert,
+            AnimalBulkItemResultDTO[] results) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<AnimalBulkWriteOutcome> outcomes;
+        try {
+            outcomes = upsert ? animalRepository.upsertAllByEspecieAndNombre(animales)
+                    : animalRepository.insertAll(animales);
+        } catch (RuntimeException e) {
+            log.warn("Could not save {} Animals in bulk: {}", animales.size(), e.getMessage());
+            for (int index : indexes) {
+                results[index] = AnimalBulkItemResultDTO.failed(index, e.getMessage());
+            }
+            return;
+        } finally {
+            sample.stop(Timer.builder(BULK_BATCH_TIMER_NAME)
+                    .description("Time spent writing a batch of animals")
+                    .tag("mode", upsert ? "upsert" : "insert")
+                    .register(meterRegistry));
+        }
+        for (int i = 0; i < outcomes.size(); i++) {
+            AnimalBulkWriteOutcome outcome = outcomes.get(i);
+            int index = indexes.get(i);
+            results[index] = switch (outcome.status()) {
+                case INSERTED -> new AnimalBulkItemResultDTO(index, outcome.id(), BulkItemResultDTO.Status.CREATED, null);
+                case MODIFIED -> new AnimalBulkItemResultDTO(index, outcome.id(), BulkItemResultDTO.Status.UPDATED, null);
+                case UNCHANGED -> new AnimalBulkItemResultDTO(index, outcome.id(), BulkItemResultDTO.Status.UNCHANGED,
+                        null);
+                case FAILED -> AnimalBulkItemResultDTO.failed(index, outcome.error());
+            };
+        }
+    }
+
+    /**
+     * Retrieves a page of AnimalDTO objects based on the specified species.
+     *
+     * @param especie  the species of animals to search for
+     * @param pageable the pagination information
+     * @return a page of AnimalDTO objects matching the specified species
      */
     @Transactional(readOnly = true)
-    public List<AnimalDTO> buscarPorEspecie(String especie) {
-        log.debug("Request to get Animals by species : {}", especie);
-        List<AnimalDTO> result = animalRepository.findByEspecie(especie).stream()
-                .map(animalMapper::toDto)
-                .collect(Collectors.toList());
-        log.info("Found {} animals for species {}", result.size(), especie);
-        return result;
+    public Page<AnimalDTO> buscarPorEspecie(String especie, Pageable pageable) {
+        log.debug("Request to get a page of Animals by species : {}", especie);
+        return animalRepository.findByEspecie(especie, pageable).map(animalMapper::toDto);
     }
 
     /**
-     * Retrieves a list of AnimalDTO objects by searching for animals with the given
-     * name.
+     * Retrieves a page of AnimalDTO objects by searching for animals with the
+     * given name.
      *
-     * @param nombre the name to search for
-     * @return a list of AnimalDTO objects
+     * @param nombre   the name to search for
+     * @param pageable the pagination information
+     * @return a page of AnimalDTO objects
      */
     @Transactional(readOnly = true)
-    public List<AnimalDTO> buscarPorNombre(String nombre) {
-        log.debug("Request to get Animals by name : {}", nombre);
-        List<AnimalDTO> result = animalRepository.findByNombre(nombre).stream()
-                .map(animalMapper::toDto)
-                .collect(Collectors.toList());
-        log.info("Found {} animals with name {}", result.size(), nombre);
-        return result;
+    public Page<AnimalDTO> buscarPorNombre(String nombre, Pageable pageable) {
+        log.debug("Request to get a page of Animals by name : {}", nombre);
+        return animalRepository.findByNombre(nombre, pageable).map(animalMapper::toDto);
     }
 
     /**
-     * Retrieves a list of AnimalDTO objects based on the given species and name.
+     * Retrieves a page of AnimalDTO objects based on the given species and name.
      *
-     * @param especie the species of the animal
-     * @param nombre  the name of the animal
-     * @return a list of AnimalDTO objects matching the specified species and name
+     * @param especie  the species of the animal
+     * @param nombre   the name of the animal
+     * @param pageable the pagination information
+     * @return a page of AnimalDTO objects matching the specified species and name
      */
     @Transactional(readOnly = true)
-    public List<AnimalDTO> buscarPorEspecieYNombre(String especie, String nombre) {
-        log.debug("Request to get Animals by species '{}' and name '{}'", especie, nombre);
-        List<AnimalDTO> result = animalRepository.findByEspecieAndNombre(especie, nombre).stream()
-                .map(animalMapper::toDto)
-                .collect(Collectors.toList());
-        log.info("Found {} animals for species '{}' and name '{}'", result.size(), especie, nombre);
-        return result;
+    public Page<AnimalDTO> buscarPorEspecieYNombre(String especie, String nombre, Pageable pageable) {
+        log.debug("Request to get a page of Animals by species '{}' and name '{}'", especie, nombre);
+        return animalRepository.findByEspecieAndNombre(especie, nombre, pageable).map(animalMapper::toDto);
+    }
+
+    /**
+     * Retrieves a slice of AnimalDTO objects following the given id, ordered by
+     * id, without counting them.
+     *
+     * @param especie the species of the animals, or {@code null} for any
+     * @param nombre  the name of the animals, or {@code null} for any
+     * @param afterId the id of the last animal already read, or {@code null} to
+     *                start from the first one
+     * @param size    the maximum number of animals to return
+     * @return a slice of AnimalDTO objects
+     */
+    @Transactional(readOnly = true)
+    public Slice<AnimalDTO> buscarDespuesDe(String especie, String nombre, String afterId, int size) {
+        log.debug("Request to get a slice of {} Animals by species '{}' and name '{}' after : {}", size, especie,
+                nombre, afterId);
+        String id = afterId == null ? FIRST_ID : afterId;
+        Pageable pageable = PageRequest.of(0, size, Sort.by("id"));
+        Slice<Animal> animales;
+        if (especie != null && nombre != null) {
+            animales = animalRepository.findByEspecieAndNombreAndIdGreaterThan(especie, nombre, id, pageable);
+        } else if (especie != null) {
+            animales = animalRepository.findByEspecieAndIdGreaterThan(especie, id, pageable);
+        } else if (nombre != null) {
+            animales = animalRepository.findByNombreAndIdGreaterThan(nombre, id, pageable);
+        } else {
+            animales = animalRepository.findByIdGreaterThan(id, pageable);
+        }
+        return animales.map(animalMapper::toDto);
+    }
+
+    /**
+     * Write the animals, ordered by id, as newline delimited JSON.
+     * The animals are streamed from a MongoDB cursor, so the memory used does not
+     * depend on their number.
+     *
+     * @param especie      the species of the animals, or {@code null} for any
+     * @param nombre       the name of the animals, or {@code null} for any
+     * @param batchSize    the number of animals fetched from MongoDB at a time,
+     *                     bounded to {@value #MAX_BATCH_SIZE}
+     * @param outputStream the stream to write to, left open
+     * @return the number of animals written
+     * @throws IOException if the animals could not be written
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long exportarNdjson(String especie, String nombre, int batchSize, OutputStream outputStream)
+            throws IOException {
+        log.debug("Request to export Animals by species '{}' and name '{}' as NDJSON", especie, nombre);
+        ObjectWriter writer = objectMapper.writerFor(AnimalDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                Stream<Animal> animales = animalRepository.streamAll(especie, nombre,
+                        Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE)))) {
+            long count = 0;
+            for (Iterator<Animal> iterator = animales.iterator(); iterator.hasNext(); count++) {
+                writer.writeValue(generator, animalMapper.toDto(iterator.next()));
+                generator.writeRaw('\n');
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Count the animals, by species and by name, with a single aggregation.
+     * <p>
+     * The statistics are kept in the {@value #STATS_CACHE} cache for a short
+     * time, so they may miss the latest changes.
+     *
+     * @param topNombres the number of names returned for every species, from 1
+     *                   to {@value #MAX_TOP_NOMBRES}.
+     * @return the total number of animals and the species, the one with the most
+     *         animals first.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(STATS_CACHE)
+    public AnimalStatsDTO estadisticas(int topNombres) {
+        log.debug("Request to get the Animal statistics with the top {} names", topNombres);
+        AnimalStatsDTO stats = new AnimalStatsDTO();
+        for (AnimalEspecieStats especieStats : animalRepository.countByEspecie(topNombres)) {
+            AnimalStatsDTO.Especie especie = new AnimalStatsDTO.Especie();
+            especie.setEspecie(especieStats.especie());
+            especie.setCount(especieStats.count());
+            for (AnimalEspecieStats.NombreCount nombreCount : especieStats.nombres()) {
+                AnimalStatsDTO.Nombre nombre = new AnimalStatsDTO.Nombre();
+                nombre.setNombre(nombreCount.nombre());
+                nombre.setCount(nombreCount.count());
+                especie.getNombres().add(nombre);
+            }
+            stats.getEspecies().add(especie);
+            stats.setTotal(stats.getTotal() + especieStats.count());
+        }
+        return stats;
     }
 
     /**
@@ -110,48 +353,50 @@ public class AnimalService {
      * Delete the animal by id.
      *
      * @param id the id of the entity.
+     * @return true if the animal existed and was deleted.
      */
-    public void eliminarAnimal(String id) {
+    public boolean eliminarAnimal(String id) {
         log.debug("Request to delete Animal : {}", id);
-        animalRepository.deleteById(id);
+        return animalRepository.removeById(id) > 0;
     }
 
     /**
-     * Update an animal.
+     * Delete animals by id, with a single command.
      *
-     * @param animalDTO the entity to update.
-     * @return the updated entity.
+     * @param ids the ids of the entities; the ones not found are ignored.
+     * @return the number of animals deleted.
      */
-    public AnimalDTO actualizarAnimal(AnimalDTO animalDTO) {
-        log.debug("Request to update Animal : {}", animalDTO);
-        Animal animal = animalMapper.toEntity(animalDTO);
-        animal = animalRepository.save(animal);
-        return animalMapper.toDto(animal);
+    public long eliminarAnimales(Collection<String> ids) {
+        log.debug("Request to delete {} Animals", ids.size());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return animalRepository.removeByIdIn(Set.copyOf(ids));
     }
 
     /**
-     * Get all the animals.
+     * Update an animal, replacing it in a single command.
      *
-     * @return the list of entities.
+     * @param animalDTO the entity to update.
+     * @return the updated entity, or empty if the animal does not exist.
      */
-    @Transactional(readOnly = true)
-    public List<AnimalDTO> listarTodos() {
-        log.debug("Request to get all Animals");
-        return animalRepository.findAll().stream()
-                .map(animalMapper::toDto)
-                .collect(Collectors.toList());
+    public Optional<AnimalDTO> actualizarAnimal(AnimalDTO animalDTO) {
+        log.debug("Request to update Animal : {}", animalDTO);
+        Animal animal = animalMapper.toEntity(animalDTO);
+        return animalRepository.replace(animal)
+                .map(animalMapper::toDto);
     }
 
     /**
-     * Check if an animal with the given id exists.
+     * Get a page of the animals.
      *
-     * @param id the id of the entity.
-     * @return boolean indicating existence of the entity.
+     * @param pageable the pagination information.
+     * @return the page of entities.
      */
     @Transactional(readOnly = true)
-    public boolean existsById(String id) {
-        log.debug("Request to check if Animal exists : {}", id);
-        return animalRepository.existsById(id);
+    public Page<AnimalDTO> listarTodos(Pageable pageable) {
+        log.debug("Request to get a page of Animals");
+        return animalRepository.findAll(pageable).map(animalMapper::toDto);
     }
 
 }
@@ -0,0 +1,68 @@
+package com.jh.test.service;
+
+import com.jh.test.service.dto.AppUserDTO;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import net.sf.jasperreports.engine.JRDataSource;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+
+/**
+ * Jasper data source reading the appUsers one page at a time, so only a single page is held in memory while a report is filled.
+ * <p>
+ * Pages are read in id order with a keyset condition ({@code id > last id read}), which keeps every page query as cheap as the first.
+ */
+public class AppUserReportDataSource implements JRDataSource {
+
+    private final BiFunction<Long, Integer, List<AppUserDTO>> pageLoader;
+
+    private final int pageSize;
+
+    private Iterator<AppUserDTO> page = Collections.emptyIterator();
+
+    private boolean lastPage;
+
+    private Long lastId;
+
+    private AppUserDTO current;
+
+    /**
+     * @param pageLoader loads up to {@code size} appUsers following the given id, ordered by id; the id is {@code null} for the first page.
+     * @param pageSize the number of appUsers read per page.
+     */
+    public AppUserReportDataSource(BiFunction<Long, Integer, List<AppUserDTO>> pageLoader, int pageSize) {
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean next() {
+        if (!page.hasNext()) {
+            if (lastPage) {
+                return false;
+            }
+            List<AppUserDTO> content = pageLoader.apply(lastId, pageSize);
+            lastPage = content.size() < pageSize;
+            page = content.iterator();
+            if (!page.hasNext()) {
+                return false;
+            }
+        }
+        current = page.next();
+        lastId = current.getId();
+        return true;
+    }
+
+    @Override
+    public Object getFieldValue(JRField jrField) throws JRException {
+        return switch (jrField.getName()) {
+            case "id" -> current.getId();
+            case "name" -> current.getName();
+            case "lastname" -> current.getLastname();
+            case "perfil" -> current.getPerfil();
+            default -> throw new JRException("Unknown field " + jrField.getName());
+        };
+    }
+}
@@ -1,19 +1,58 @@
 package com.jh.test.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.jh.test.domain.AppUser;
 import com.jh.test.domain.Perfil;
 import com.jh.test.repository.AppUserRepository;
+import com.jh.test.repository.AppUserSearchHit;
+import com.jh.test.repository.AppUserSummary;
+import com.jh.test.repository.AppUserVersion;
 import com.jh.test.repository.PerfilRepository;
 import com.jh.test.service.dto.AppUserDTO;
+import com.jh.test.service.dto.AppUserSearchHitDTO;
+import com.jh.test.service.dto.BulkItemResultDTO;
+import com.jh.test.service.dto.PerfilDTO;
 import com.jh.test.service.mapper.AppUserMapper;
 import com.jh.test.web.rest.errors.BadRequestAlertException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service Implementation for managing {@link com.jh.test.domain.AppUser}.
@@ -22,6 +61,14 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class AppUserService {
 
+    private static final String BATCH_SIZE_PROPERTY = "hibernate.jdbc.batch_size";
+
+    private static final String DEFAULT_CHUNK_SIZE = "25";
+
+    private static final int MAX_SEARCH_WORDS = 8;
+
+    private static final String PERFIL_FOREIGN_KEY = "fk_app_user__perfil_id";
+
     private final Logger log = LoggerFactory.getLogger(AppUserService.class);
 
     private final AppUserRepository appUserRepository;
@@ -30,10 +77,38 @@ public class AppUserService {
 
     private final PerfilRepository perfilRepository;
 
-    public AppUserService(AppUserRepository appUserRepository, AppUserMapper appUserMapper, PerfilRepository perfilRepository) {
+    private final PerfilReferenceCache perfilReferenceCache;
+
+    private final DataVersionService dataVersionService;
+
+    private final Validator validator;
+
+    private final TransactionTemplate chunkTransaction;
+
+    private final int chunkSize;
+
+    private final ObjectMapper objectMapper;
+
+    public AppUserService(
+        AppUserRepository appUserRepository,
+        AppUserMapper appUserMapper,
+        PerfilRepository perfilRepository,
+        PerfilReferenceCache perfilReferenceCache,
+        DataVersionService dataVersionService,
+        Validator validator,
+        PlatformTransactionManager transactionManager,
+        JpaProperties jpaProperties,
+        ObjectMapper objectMapper
+    ) {
         this.appUserRepository = appUserRepository;
         this.appUserMapper = appUserMapper;
         this.perfilRepository = perfilRepository;
+        this.perfilReferenceCache = perfilReferenceCache;
+        this.dataVersionService = dataVersionService;
+        this.validator = validator;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = Integer.parseInt(jpaProperties.getProperties().getOrDefault(BATCH_SIZE_PROPERTY, DEFAULT_CHUNK_SIZE));
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -46,36 +121,56 @@ public class AppUserService {
         log.debug("Request to save AppUser : {}", appUserDTO);
         AppUser appUser = appUserMapper.toEntity(appUserDTO);
         // Cargar y asignar el Perfil si es necesario
-        if (appUserDTO.getPerfil() != null && appUserDTO.getPerfil().getId() != null) {
-            Perfil perfil = perfilRepository
-                .findById(appUserDTO.getPerfil().getId())
-                .orElseThrow(() -> new BadRequestAlertException("Perfil no encontrado", "perfil", "idnotfound"));
-            appUser.setPerfil(perfil);
-        }
-        appUser = appUserRepository.save(appUser);
-        return appUserMapper.toDto(appUser);
+        PerfilDTO perfilDTO = attachPerfil(appUser, appUserDTO);
+        appUser = saveAndFlush(appUser);
+        dataVersionService.bump();
+        return toDto(appUser, perfilDTO);
     }
 
     /**
      * Update a appUser.
      *
      * @param appUserDTO the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the appUser does not exist.
      */
-    public AppUserDTO update(AppUserDTO appUserDTO) {
+    public Optional<AppUserDTO> update(AppUserDTO appUserDTO) {
+        return update(appUserDTO, null);
+    }
+
+    /**
+     * Update a appUser, if its current version satisfies a precondition.
+     * <p>
+     * The appUser is loaded once and modified in place, so the update does not need a separate existence check. It is
+     * flushed right away, so the returned entity has its new version.
+     *
+     * @param appUserDTO the entity to save.
+     * @param precondition the precondition on the current version of the appUser and of its perfil, or {@code null} if there is
+     *        none, so the version of the perfil is not read.
+     * @return the persisted entity, or empty if the appUser does not exist.
+     * @throws PreconditionFailedException if the current version does not satisfy the precondition.
+     */
+    public Optional<AppUserDTO> update(AppUserDTO appUserDTO, Predicate<AppUserVersion> precondition) {
         log.debug("Request to update AppUser : {}", appUserDTO);
-        AppUser appUser = appUserMapper.toEntity(appUserDTO);
 
-        // Cargar y asignar el Perfil si es necesario
-        if (appUserDTO.getPerfil() != null && appUserDTO.getPerfil().getId() != null) {
-            Perfil perfil = perfilRepository
-                .findById(appUserDTO.getPerfil().getId())
-                .orElseThrow(() -> new BadRequestAlertException("Perfil no encontrado", "perfil", "idnotfound"));
-            appUser.setPerfil(perfil);
-        }
+        return appUserRepository
+            .findById(appUserDTO.getId())
+            .map(existingAppUser -> {
+                checkVersion(existingAppUser, precondition);
+                existingAppUser.setName(appUserDTO.getName());
+                existingAppUser.setLastname(appUserDTO.getLastname());
 
-        appUser = appUserRepository.save(appUser);
-        return appUserMapper.toDto(appUser);
+                // Cargar y asignar el Perfil si es necesario
+                PerfilDTO perfilDTO = attachPerfil(existingAppUser, appUserDTO);
+                if (perfilDTO == null) {
+                    existingAppUser.setPerfil(null);
+                }
+
+                return toDto(saveAndFlush(existingAppUser), perfilDTO);
+            })
+            .map(result -> {
+                dataVersionService.bump();
+                return result;
+            });
     }
 
     /**
@@ -85,29 +180,231 @@ public class AppUserService {
      * @return the persisted entity.
      */
     public Optional<AppUserDTO> partialUpdate(AppUserDTO appUserDTO) {
+        return partialUpdate(appUserDTO, null);
+    }
+
+    /**
+     * Partially update a appUser, if its current version satisfies a precondition.
+     *
+     * @param appUserDTO the entity to update partially.
+     * @param precondition the precondition on the current version of the appUser and of its perfil, or {@code null} if there is
+     *        none, so the version of the perfil is not read.
+     * @return the persisted entity.
+     * @throws PreconditionFailedException if the current version does not satisfy the precondition.
+     */
+    public Optional<AppUserDTO> partialUpdate(AppUserDTO appUserDTO, Predicate<AppUserVersion> precondition) {
         log.debug("Request to partially update AppUser : {}", appUserDTO);
 
         return appUserRepository
             .findById(appUserDTO.getId())
             .map(existingAppUser -> {
+                checkVersion(existingAppUser, precondition);
                 appUserMapper.partialUpdate(existingAppUser, appUserDTO);
 
                 // Si el DTO contiene un perfil y tiene un ID, se asocia con el usuario
-                if (appUserDTO.getPerfil() != null && appUserDTO.getPerfil().getId() != null) {
-                    Perfil perfil = perfilRepository
-                        .findById(appUserDTO.getPerfil().getId())
-                        .orElseThrow(() -> new BadRequestAlertException("Perfil no encontrado", "perfil", "idnotfound"));
-                    existingAppUser.setPerfil(perfil);
-                }
+                PerfilDTO perfilDTO = attachPerfil(existingAppUser, appUserDTO);
 
-                return existingAppUser;
+                return toDto(saveAndFlush(existingAppUser), perfilDTO);
             })
-            .map(appUserRepository::save)
-            .map(appUserMapper::toDto);
+            .map(result -> {
+                dataVersionService.bump();
+                return result;
+            });
+    }
+
+    /**
+     * Check the current version of a loaded appUser, reading only the version of its perfil from the database, as the
+     * entity tags are built from the database rows and the {@link PerfilReferenceCache} may be behind them.
+     */
+    private void checkVersion(AppUser appUser, Predicate<AppUserVersion> precondition) {
+        if (precondition == null) {
+            return;
+        }
+        Long perfilVersion = appUser.getPerfil() == null
+            ? null
+            : perfilRepository.findVersionById(appUser.getPerfil().getId()).orElse(null);
+        if (!precondition.test(new AppUserVersion(appUser.getVersion(), perfilVersion))) {
+            throw new PreconditionFailedException("AppUser " + appUser.getId() + " has changed");
+        }
+    }
+
+    /**
+     * Attach the perfil of the DTO, if any, to the appUser, as a reference taken from the {@link PerfilReferenceCache}, so
+     * the perfil is not queried.
+     *
+     * @return the perfil attached, or {@code null} if the DTO has none.
+     */
+    private PerfilDTO attachPerfil(AppUser appUser, AppUserDTO appUserDTO) {
+        Long perfilId = perfilId(appUserDTO);
+        if (perfilId == null) {
+            return null;
+        }
+        PerfilDTO perfilDTO = perfilReferenceCache
+            .find(perfilId)
+            .orElseThrow(AppUserService::perfilNotFound);
+        appUser.setPerfil(perfilReferenceCache.getReference(perfilId));
+        return perfilDTO;
+    }
+
+    /**
+     * Save and flush an appUser, so a perfil deleted since it was cached is reported as not found, instead of failing the
+     * commit on its foreign key.
+     */
+    private AppUser saveAndFlush(AppUser appUser) {
+        try {
+            return appUserRepository.saveAndFlush(appUser);
+        } catch (DataIntegrityViolationException e) {
+            if (
+                e.getCause() instanceof ConstraintViolationException violation &&
+                PERFIL_FOREIGN_KEY.equalsIgnoreCase(violation.getConstraintName())
+            ) {
+                perfilReferenceCache.evict();
+                throw perfilNotFound();
+            }
+            throw e;
+        }
+    }
+
+    private static RuntimeException perfilNotFound() {
+        return new BadRequestAlertException("Perfil no encontrado", "perfil", "idnotfound");
+    }
+
+    /**
+     * Map a saved appUser, using the perfil attached to it so its reference is not loaded.
+     */
+    private AppUserDTO toDto(AppUser appUser, PerfilDTO perfilDTO) {
+        return perfilDTO == null ? appUserMapper.toDto(appUser) : appUserMapper.toDto(appUser, perfilDTO);
+    }
+
+    /**
+     * Create or update appUsers in bulk.
+     * <p>
+     * The referenced perfils are all checked with a single query, then the appUsers are written in chunks of
+     * {@code hibernate.jdbc.batch_size}, each in its own transaction, so every chunk is sent as JDBC batches. An item failing
+     * validation is reported without affecting the others; a chunk failing to be written is reported as a whole.
+     *
+     * @param appUserDTOs the entities to create, without id, or to update, with their id.
+     * @return the result of every item, in the order of the items.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> saveAll(List<AppUserDTO> appUserDTOs) {
+        return saveAll(appUserDTOs, 0);
+    }
+
+    /**
+     * Create or update a part of the appUsers of a bulk request.
+     *
+     * @param appUserDTOs the entities to create, without id, or to update, with their id.
+     * @param firstIndex the index of the first entity in the bulk request.
+     * @return the result of every item, in the order of the items.
+     * @see #saveAll(List)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> saveAll(List<AppUserDTO> appUserDTOs, int firstIndex) {
+        log.debug("Request to save {} AppUsers in bulk from {}", appUserDTOs.size(), firstIndex);
+        BulkItemResultDTO[] results = new BulkItemResultDTO[appUserDTOs.size()];
+        Set<Long> perfilIds = appUserDTOs
+            .stream()
+            .map(this::perfilId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Set<Long> existingPerfilIds = perfilIds.isEmpty() ? Set.of() : perfilRepository.findExistingIds(perfilIds);
+        for (int from = 0; from < appUserDTOs.size(); from += chunkSize) {
+            saveChunk(appUserDTOs, from, Math.min(from + chunkSize, appUserDTOs.size()), existingPerfilIds, results);
+        }
+        for (BulkItemResultDTO result : results) {
+            result.setIndex(firstIndex + result.getIndex());
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Get the number of appUsers written by each transaction of a bulk request.
+     *
+     * @return the size of the bulk chunks.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    private void saveChunk(List<AppUserDTO> appUserDTOs, int from, int to, Set<Long> existingPerfilIds, BulkItemResultDTO[] results) {
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                List<Long> ids = appUserDTOs.subList(from, to).stream().map(AppUserDTO::getId).filter(Objects::nonNull).toList();
+                Map<Long, AppUser> existingAppUsers = ids.isEmpty()
+                    ? Map.of()
+                    : appUserRepository.findAllById(ids).stream().collect(Collectors.toMap(AppUser::getId, Function.identity()));
+                boolean written = false;
+                for (int index = from; index < to; index++) {
+                    results[index] = saveItem(index, appUserDTOs.get(index), existingPerfilIds, existingAppUsers);
+                    written |= results[index].getStatus() != BulkItemResultDTO.Status.FAILED;
+                }
+                if (written) {
+                    dataVersionService.bump();
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not save the AppUsers {} to {} in bulk: {}", from, to - 1, e.getMessage());
+            for (int index = from; index < to; index++) {
+                if (results[index] == null || results[index].getStatus() != BulkItemResultDTO.Status.FAILED) {
+                    results[index] = BulkItemResultDTO.failed(index, appUserDTOs.get(index).getId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private BulkItemResultDTO saveItem(int index, AppUserDTO appUserDTO, Set<Long> existingPerfilIds, Map<Long, AppUser> existingAppUsers) {
+        Set<ConstraintViolation<AppUserDTO>> violations = validator.validate(appUserDTO);
+        if (!violations.isEmpty()) {
+            String error = violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+            return BulkItemResultDTO.failed(index, appUserDTO.getId(), error);
+        }
+        Long perfilId = perfilId(appUserDTO);
+        if (perfilId != null && !existingPerfilIds.contains(perfilId)) {
+            return BulkItemResultDTO.failed(index, appUserDTO.getId(), "Perfil no encontrado");
+        }
+        Perfil perfil = perfilId == null ? null : perfilRepository.getReferenceById(perfilId);
+        if (appUserDTO.getId() == null) {
+            AppUser appUser = appUserMapper.toEntity(appUserDTO);
+            appUser.setPerfil(perfil);
+            appUser = appUserRepository.save(appUser);
+            return new BulkItemResultDTO(index, appUser.getId(), BulkItemResultDTO.Status.CREATED, null);
+        }
+        AppUser appUser = existingAppUsers.get(appUserDTO.getId());
+        if (appUser == null) {
+            return BulkItemResultDTO.failed(index, appUserDTO.getId(), "Entity not found");
+        }
+        appUser.setName(appUserDTO.getName());
+        appUser.setLastname(appUserDTO.getLastname());
+        appUser.setPerfil(perfil);
+        return new BulkItemResultDTO(index, appUser.getId(), BulkItemResultDTO.Status.UPDATED, null);
+    }
+
+    /**
+     * Lowercase a value, as the lookups compare lowercased names, and escape the {@code like} wildcards it contains.
+     */
+    private String escapeLike(String value) {
+        return value.toLowerCase(Locale.ROOT).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private String csvField(String value) {
+        if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private Long perfilId(AppUserDTO appUserDTO) {
+        return appUserDTO.getPerfil() == null ? null : appUserDTO.getPerfil().getId();
     }
 
     /**
      * Get all the appUsers.
+     * The appUsers are read as projections, without loading them in the persistence context.
      *
      * @param pageable the pagination information.
      * @return the list of entities.
@@ -115,7 +412,180 @@ public class AppUserService {
     @Transactional(readOnly = true)
     public Page<AppUserDTO> findAll(Pageable pageable) {
         log.debug("Request to get all AppUsers");
-        return appUserRepository.findAll(pageable).map(appUserMapper::toDto);
+        return appUserRepository.findAllSummaries(pageable).map(appUserMapper::toDto);
+    }
+
+    /**
+     * Get the appUsers of a perfil.
+     *
+     * @param perfilId the id of the perfil.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<AppUserDTO> findAllByPerfil(Long perfilId, Pageable pageable) {
+        log.debug("Request to get the AppUsers of Perfil : {}", perfilId);
+        return appUserRepository.findAllSummariesByPerfilId(perfilId, pageable).map(appUserMapper::toDto);
+    }
+
+    /**
+     * Get the appUsers whose name starts with the given prefix, ignoring case.
+     *
+     * @param prefix the prefix of the name.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<AppUserDTO> findAllByNameStartingWith(String prefix, Pageable pageable) {
+        log.debug("Request to get the AppUsers whose name starts with : {}", prefix);
+        return appUserRepository.findAllSummariesByNameLike(escapeLike(prefix) + "%", pageable).map(appUserMapper::toDto);
+    }
+
+    /**
+     * Get the appUsers whose lastname starts with the given prefix, ignoring case.
+     *
+     * @param prefix the prefix of the lastname.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<AppUserDTO> findAllByLastnameStartingWith(String prefix, Pageable pageable) {
+        log.debug("Request to get the AppUsers whose lastname starts with : {}", prefix);
+        return appUserRepository.findAllSummariesByLastnameLike(escapeLike(prefix) + "%", pageable).map(appUserMapper::toDto);
+    }
+
+    /**
+     * Get the appUsers whose name or lastname contains the given text, ignoring case.
+     *
+     * @param text the text to look for.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<AppUserDTO> findAllByNameOrLastnameContaining(String text, Pageable pageable) {
+        log.debug("Request to get the AppUsers whose name or lastname contains : {}", text);
+        return appUserRepository.findAllSummariesByNameOrLastnameLike("%" + escapeLike(text) + "%", pageable).map(appUserMapper::toDto);
+    }
+
+    /**
+     * Search the appUsers by name, lastname and perfil name, as they are typed: every word of the text must start a word of
+     * the appUser. Hits are ordered by relevance, then by id.
+     *
+     * @param text the text typed.
+     * @param afterRank the rank of the last hit already read, or {@code null} to start from the most relevant one.
+     * @param afterId the id of the last hit already read, ignored when {@code afterRank} is {@code null}.
+     * @param size the maximum number of hits to return.
+     * @return the slice of hits, empty when the text has no word.
+     */
+    @Transactional(readOnly = true)
+    public Slice<AppUserSearchHitDTO> search(String text, Float afterRank, Long afterId, int size) {
+        log.debug("Request to search AppUsers : {}", text);
+        String query = Arrays
+            .stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(word -> !word.isEmpty())
+            .limit(MAX_SEARCH_WORDS)
+            .map(word -> word + ":*")
+            .collect(Collectors.joining(" & "));
+        if (query.isEmpty()) {
+            return new SliceImpl<>(List.of(), PageRequest.of(0, size), false);
+        }
+        Slice<AppUserSearchHit> hits = afterRank == null
+            ? appUserRepository.search(query, PageRequest.of(0, size))
+            : appUserRepository.searchAfter(query, afterRank, afterId, PageRequest.of(0, size));
+        return hits.map(appUserMapper::toDto);
+    }
+
+    /**
+     * Get a slice of the appUsers following the given id, ordered by id, without counting them.
+     *
+     * @param afterId the id of the last appUser already read, or {@code null} to start from the first one.
+     * @param size the maximum number of appUsers to return.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<AppUserDTO> findAllAfter(Long afterId, int size) {
+        log.debug("Request to get a slice of {} AppUsers after : {}", size, afterId);
+        return appUserRepository
+            .findNextSummaries(afterId == null ? Long.MIN_VALUE : afterId, PageRequest.of(0, size))
+            .map(appUserMapper::toDto);
+    }
+
+    /**
+     * Get the appUsers following the given id, ordered by id.
+     * Used to walk the whole table page by page without an offset scan.
+     *
+     * @param afterId the id of the last appUser already read, or {@code null} to start from the first one.
+     * @param size the maximum number of appUsers to return.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public List<AppUserDTO> findNext(Long afterId, int size) {
+        log.debug("Request to get {} AppUsers after : {}", size, afterId);
+        return appUserRepository
+            .findNextSummaries(afterId == null ? Long.MIN_VALUE : afterId, PageRequest.of(0, size))
+            .stream()
+            .map(appUserMapper::toDto)
+            .toList();
+    }
+
+    /**
+     * Write every appUser, ordered by id, as newline delimited JSON.
+     * The appUsers are streamed from a database cursor, so the memory used does not depend on their number.
+     *
+     * @param outputStream the stream to write to, left open.
+     * @return the number of appUsers written.
+     * @throws IOException if the appUsers could not be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream outputStream) throws IOException {
+        log.debug("Request to export all AppUsers as NDJSON");
+        ObjectWriter writer = objectMapper.writerFor(AppUserDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (
+            JsonGenerator generator = objectMapper
+                .getFactory()
+                .createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Stream<AppUserSummary> summaries = appUserRepository.streamAllSummaries()
+        ) {
+            long count = 0;
+            for (Iterator<AppUserSummary> iterator = summaries.iterator(); iterator.hasNext(); count++) {
+                writer.writeValue(generator, appUserMapper.toDto(iterator.next()));
+                generator.writeRaw('\n');
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Write every appUser, ordered by id, as {@code ;} separated values, with the columns of the CSV import.
+     * Values containing a separator, a quote or a line break are quoted.
+     * The appUsers are streamed from a database cursor, so the memory used does not depend on their number.
+     *
+     * @param outputStream the stream to write to, left open.
+     * @return the number of appUsers written.
+     * @throws IOException if the appUsers could not be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream outputStream) throws IOException {
+        log.debug("Request to export all AppUsers as CSV");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (Stream<AppUserSummary> summaries = appUserRepository.streamAllSummaries()) {
+            writer.write("id;name;lastname;perfil_id\n");
+            long count = 0;
+            for (Iterator<AppUserSummary> iterator = summaries.iterator(); iterator.hasNext(); count++) {
+                AppUserSummary summary = iterator.next();
+                writer.write(String.valueOf(summary.id()));
+                writer.write(';');
+                writer.write(csvField(summary.name()));
+                writer.write(';');
+                writer.write(csvField(summary.lastname()));
+                writer.write(';');
+                writer.write(summary.perfilId() == null ? "" : summary.perfilId().toString());
+                writer.write('\n');
+            }
+            writer.flush();
+            return count;
+        }
     }
 
     /**
@@ -127,7 +597,19 @@ public class AppUserService {
     @Transactional(readOnly = true)
     public Optional<AppUserDTO> findOne(Long id) {
         log.debug("Request to get AppUser : {}", id);
-        return appUserRepository.findById(id).map(appUserMapper::toDto);
+        return appUserRepository.findOneWithEagerRelationships(id).map(appUserMapper::toDto);
+    }
+
+    /**
+     * Get the version of one appUser and of its perfil by id, without loading them.
+     *
+     * @param id the id of the entity.
+     * @return the versions.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AppUserVersion> findVersion(Long id) {
+        log.debug("Request to get the version of AppUser : {}", id);
+        return appUserRepository.findVersionById(id);
     }
 
     /**
@@ -138,5 +620,24 @@ public class AppUserService {
     public void delete(Long id) {
         log.debug("Request to delete AppUser : {}", id);
         appUserRepository.deleteById(id);
+        dataVersionService.bump();
+    }
+
+    /**
+     * Delete appUsers by id, with a single statement.
+     *
+     * @param ids the ids of the entities; the ones not found are ignored.
+     * @return the number of appUsers deleted.
+     */
+    public int deleteAll(Collection<Long> ids) {
+        log.debug("Request to delete {} AppUsers", ids.size());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = appUserRepository.deleteAllByIds(Set.copyOf(ids));
+        if (deleted > 0) {
+            dataVersionService.bump();
+        }
+        return deleted;
     }
 }
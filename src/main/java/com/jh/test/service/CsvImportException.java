@@ -0,0 +1,17 @@
+package com.jh.test.service;
+
+/**
+ * Thrown when a CSV import cannot be read or written, in which case nothing is imported.
+ */
+public class CsvImportException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CsvImportException(String message) {
+        super(message);
+    }
+
+    public CsvImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,396 @@
+package com.jh.test.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.jh.test.domain.AppUser;
+import com.jh.test.domain.Perfil;
+import com.jh.test.service.dto.ImportResultDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service importing perfils and appUsers from CSV files, through the PostgreSQL {@code COPY} command.
+ * <p>
+ * The files use the format of the Liquibase fake data: a header line naming the columns, then one {@code ;} separated row
+ * per line. A field holding a {@code ;}, a {@code "} or a line break is quoted with {@code "}, its quotes being doubled.
+ * Rows are validated as they are read and streamed to {@code COPY ... FROM STDIN} in chunks, so files of any size are
+ * imported without being held in memory. Invalid rows are skipped and reported; any other failure, like a duplicate id,
+ * imports nothing. Rows without an {@code id} column get ids from the entity sequence, a block at a time.
+ */
+@Service
+@Transactional
+public class CsvImportService {
+
+    public static final String ROWS_COUNTER_NAME = "import.rows";
+    public static final String DURATION_TIMER_NAME = "import.duration";
+
+    private static final String ID = "id";
+    private static final String PERFIL_ID = "perfil_id";
+    private static final String SEPARATOR = ";";
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema().withColumnSeparator(';').withQuoteChar('"');
+    private static final CsvMapper CSV_MAPPER = CsvMapper
+        .builder()
+        .enable(CsvParser.Feature.WRAP_AS_ARRAY)
+        .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+        .build();
+    private static final int MAX_LENGTH = 255;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int CHUNK_ROWS = 10_000;
+    private static final long PROGRESS_LOG_INTERVAL = 100_000;
+
+    /**
+     * The tables a CSV file can be imported into.
+     */
+    private enum Table {
+        PERFIL("perfil", "perfil_seq", List.of("name"), List.of(ID, "name")),
+        APP_USER("app_user", "app_user_seq", List.of("name", "lastname"), List.of(ID, "name", "lastname", PERFIL_ID));
+
+        private final String tableName;
+        private final String sequenceName;
+        private final List<String> requiredColumns;
+        private final List<String> columns;
+
+        Table(String tableName, String sequenceName, List<String> requiredColumns, List<String> columns) {
+            this.tableName = tableName;
+            this.sequenceName = sequenceName;
+            this.requiredColumns = requiredColumns;
+            this.columns = columns;
+        }
+    }
+
+    private final Logger log = LoggerFactory.getLogger(CsvImportService.class);
+
+    private final DataSource dataSource;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final DataVersionService dataVersionService;
+
+    private final MeterRegistry meterRegistry;
+
+    public CsvImportService(
+        DataSource dataSource,
+        JdbcTemplate jdbcTemplate,
+        EntityManagerFactory entityManagerFactory,
+        DataVersionService dataVersionService,
+        MeterRegistry meterRegistry
+    ) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataVersionService = dataVersionService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Import perfils from a CSV file with an optional {@code id} and a {@code name} column.
+     *
+     * @param inputStream the CSV file.
+     * @return the outcome of the import.
+     * @throws CsvImportException if the file cannot be imported.
+     */
+    public ImportResultDTO importPerfils(InputStream inputStream) {
+        log.debug("Request to import Perfils");
+        return importCsv(Table.PERFIL, inputStream);
+    }
+
+    /**
+     * Import appUsers from a CSV file with an optional {@code id}, a {@code name}, a {@code lastname} and an optional
+     * {@code perfil_id} column.
+     *
+     * @param inputStream the CSV file.
+     * @return the outcome of the import.
+     * @throws CsvImportException if the file cannot be imported.
+     */
+    public ImportResultDTO importAppUsers(InputStream inputStream) {
+        log.debug("Request to import AppUsers");
+        return importCsv(Table.APP_USER, inputStream);
+    }
+
+    private ImportResultDTO importCsv(Table table, InputStream inputStream) {
+        long start = System.nanoTime();
+        ImportResultDTO result = new ImportResultDTO();
+        result.setTable(table.tableName);
+        Counter copiedRows = rowsCounter(table, "copied");
+        Counter rejectedRows = rowsCounter(table, "rejected");
+
+        MappingIterator<String[]> rows;
+        try {
+            rows =
+                CSV_MAPPER
+                    .readerFor(String[].class)
+                    .with(CSV_SCHEMA)
+                    .readValues(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new CsvImportException("Could not read the CSV file: " + e.getMessage(), e);
+        }
+        List<String> header = readHeader(table, rows);
+        boolean explicitIds = header.contains(ID);
+        List<String> columns = new ArrayList<>(header);
+        if (!explicitIds) {
+            columns.add(0, ID);
+        }
+        Set<Long> perfilIds = header.contains(PERFIL_ID)
+            ? new HashSet<>(jdbcTemplate.queryForList("select id from perfil", Long.class))
+            : Set.of();
+        IdAllocator idAllocator = explicitIds ? null : new IdAllocator(table.sequenceName);
+
+        String copySql =
+            "COPY " + table.tableName + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv, DELIMITER ';')";
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            StringBuilder chunk = new StringBuilder();
+            int chunkRows = 0;
+            long rowCount = 0;
+            while (rows.hasNextValue()) {
+                // A quoted field may span several lines, so the line is the one the row starts on
+                long lineNumber = rows.getCurrentLocation().getLineNr();
+                String[] fields = rows.nextValue();
+                rowCount++;
+                String error = validate(header, fields, perfilIds);
+                if (error != null) {
+                    rejectedRows.increment();
+                    result.setRejected(result.getRejected() + 1);
+                    if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                        result.getErrors().add("line " + lineNumber + ": " + error);
+                    }
+                    continue;
+                }
+                appendRow(chunk, header, fields, idAllocator);
+                if (++chunkRows == CHUNK_ROWS) {
+                    result.setImported(result.getImported() + copy(copyManager, copySql, chunk));
+                    copiedRows.increment(chunkRows);
+                    chunkRows = 0;
+                }
+                if (rowCount % PROGRESS_LOG_INTERVAL == 0) {
+                    log.info("Importing {}: {} rows read, {} rejected", table.tableName, rowCount, result.getRejected());
+                }
+            }
+            result.setImported(result.getImported() + copy(copyManager, copySql, chunk));
+            copiedRows.increment(chunkRows);
+        } catch (SQLException | IOException e) {
+            throw new CsvImportException("Could not import " + table.tableName + ": " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        if (explicitIds) {
+            // Move the sequence past the imported ids; the block returned by nextval has not been handed out yet
+            jdbcTemplate.queryForObject(
+                "select setval(?, greatest((select coalesce(max(id), 0) + 1 from " + table.tableName + "), nextval(?)), false)",
+                Long.class,
+                table.sequenceName,
+                table.sequenceName
+            );
+        }
+        afterCommit(table);
+        dataVersionService.bump();
+
+        long duration = System.nanoTime() - start;
+        Timer
+            .builder(DURATION_TIMER_NAME)
+            .description("Time spent importing a CSV file")
+            .tag("table", table.tableName)
+            .register(meterRegistry)
+            .record(duration, TimeUnit.NANOSECONDS);
+        result.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(duration));
+        log.info(
+            "Imported {} rows into {}, {} rejected, in {} ms",
+            result.getImported(),
+            table.tableName,
+            result.getRejected(),
+            result.getDurationMillis()
+        );
+        return result;
+    }
+
+    private List<String> readHeader(Table table, MappingIterator<String[]> rows) {
+        String[] headerFields;
+        try {
+            headerFields = rows.hasNextValue() ? rows.nextValue() : null;
+        } catch (IOException e) {
+            throw new CsvImportException("Could not read the CSV header: " + e.getMessage(), e);
+        }
+        if (headerFields == null) {
+            throw new CsvImportException("The CSV file has no header");
+        }
+        List<String> header = Stream.of(headerFields).map(String::strip).toList();
+        for (String column : header) {
+            if (!table.columns.contains(column)) {
+                throw new CsvImportException("Unknown column " + column + ", expected " + table.columns);
+            }
+        }
+        if (new HashSet<>(header).size() != header.size()) {
+            throw new CsvImportException("Duplicated column in " + header);
+        }
+        for (String column : table.requiredColumns) {
+            if (!header.contains(column)) {
+                throw new CsvImportException("Missing column " + column);
+            }
+        }
+        return header;
+    }
+
+    /**
+     * @return the reason the row is invalid, or {@code null} if it is valid.
+     */
+    private String validate(List<String> header, String[] fields, Set<Long> perfilIds) {
+        if (fields.length != header.size()) {
+            return "expected " + header.size() + " fields, found " + fields.length;
+        }
+        for (int i = 0; i < fields.length; i++) {
+            String column = header.get(i);
+            String value = fields[i];
+            if (ID.equals(column)) {
+                Long id = parseId(value);
+                if (id == null || id <= 0) {
+                    return "id must be a positive number";
+                }
+            } else if (PERFIL_ID.equals(column)) {
+                if (!value.isEmpty() && !perfilIds.contains(parseId(value))) {
+                    return "perfil " + value + " does not exist";
+                }
+            } else if (value.isEmpty()) {
+                return column + " is required";
+            } else if (value.length() > MAX_LENGTH) {
+                return column + " is longer than " + MAX_LENGTH + " characters";
+            }
+        }
+        return null;
+    }
+
+    private Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void appendRow(StringBuilder buffer, List<String> header, String[] fields, IdAllocator idAllocator) {
+        if (idAllocator != null) {
+            buffer.append(idAllocator.next()).append(SEPARATOR);
+        }
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                buffer.append(SEPARATOR);
+            }
+            String column = header.get(i);
+            if (ID.equals(column) || PERFIL_ID.equals(column)) {
+                // An empty unquoted field is NULL
+                buffer.append(fields[i]);
+            } else {
+                buffer.append('"').append(fields[i].replace("\"", "\"\"")).append('"');
+            }
+        }
+        buffer.append('\n');
+    }
+
+    /**
+     * Copy a chunk of rows. Ids are drawn from the sequence while the chunk is built, as no other statement can run on the
+     * connection during a copy.
+     */
+    private long copy(CopyManager copyManager, String copySql, StringBuilder chunk) throws SQLException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        chunk.setLength(0);
+        CopyIn copyIn = copyManager.copyIn(copySql);
+        try {
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * The rows are written behind Hibernate's back, so the cached entities and queries are dropped once they are committed.
+     */
+    private void afterCommit(Table table) {
+        Class<?> entityClass = table == Table.PERFIL ? Perfil.class : AppUser.class;
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entityManagerFactory.getCache().evict(entityClass);
+                    entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+                }
+            }
+        );
+    }
+
+    private Counter rowsCounter(Table table, String outcome) {
+        return Counter
+            .builder(ROWS_COUNTER_NAME)
+            .description("Rows read by the CSV imports")
+            .tag("table", table.tableName)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Hands out ids the way Hibernate's pooled-lo optimizer does, so imported rows never collide with the application's.
+     */
+    private final class IdAllocator {
+
+        private final String sequenceName;
+        private final long blockSize;
+        private long next;
+        private long remaining;
+
+        private IdAllocator(String sequenceName) {
+            this.sequenceName = sequenceName;
+            this.blockSize =
+                jdbcTemplate.queryForObject(
+                    "select increment_by from pg_sequences where schemaname = current_schema() and sequencename = ?",
+                    Long.class,
+                    sequenceName
+                );
+        }
+
+        private long next() {
+            if (remaining == 0) {
+                next = jdbcTemplate.queryForObject("select nextval(?)", Long.class, sequenceName);
+                remaining = blockSize;
+            }
+            remaining--;
+            return next++;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.jh.test.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service tracking the version of the data the reports are built from.
+ * <p>
+ * Every change to the appUsers or perfils bumps the version, so anything derived from them, like the cached reports, can
+ * tell whether it is still current. Inside a transaction the version is only bumped once it has committed.
+ */
+@Service
+public class DataVersionService {
+
+    private final Logger log = LoggerFactory.getLogger(DataVersionService.class);
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Get the current data version.
+     *
+     * @return the current data version.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Bump the data version, once the current transaction, if any, has committed.
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        increment();
+                    }
+                }
+            );
+        } else {
+            increment();
+        }
+    }
+
+    private void increment() {
+        log.debug("Data version bumped to {}", version.incrementAndGet());
+    }
+}
@@ -0,0 +1,56 @@
+package com.jh.test.service;
+
+import net.sf.jasperreports.engine.JRVirtualizer;
+import net.sf.jasperreports.engine.JasperPrint;
+
+/**
+ * A filled report, together with the virtualizer holding its swapped out pages.
+ * <p>
+ * Closing it releases the swap file, so it must only be closed once every export is done.
+ */
+public final class FilledReport implements AutoCloseable {
+
+    private final JasperPrint jasperPrint;
+
+    private final JRVirtualizer virtualizer;
+
+    private final String template;
+
+    private final long dataVersion;
+
+    public FilledReport(JasperPrint jasperPrint, JRVirtualizer virtualizer) {
+        this(jasperPrint, virtualizer, null, 0);
+    }
+
+    /**
+     * @param jasperPrint the filled report.
+     * @param virtualizer the virtualizer holding its swapped out pages, may be {@code null}.
+     * @param template the name of the template it was filled from, {@code null} if its exports must not be cached.
+     * @param dataVersion the data version read before filling it.
+     */
+    public FilledReport(JasperPrint jasperPrint, JRVirtualizer virtualizer, String template, long dataVersion) {
+        this.jasperPrint = jasperPrint;
+        this.virtualizer = virtualizer;
+        this.template = template;
+        this.dataVersion = dataVersion;
+    }
+
+    public JasperPrint getJasperPrint() {
+        return jasperPrint;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    @Override
+    public void close() {
+        if (virtualizer != null) {
+            virtualizer.cleanup();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.jh.test.service;
+
+import java.util.Map;
+
+/**
+ * The filled reports exported by a bundle, one per template, so the formats sharing a template share a single fill.
+ * <p>
+ * Closing it closes every filled report, so it must only be closed once every export is done.
+ */
+public final class FilledReportBundle implements AutoCloseable {
+
+    private final Map<String, FilledReport> filledReports;
+
+    /**
+     * @param filledReports the filled reports, by the name of the template they were filled from.
+     */
+    public FilledReportBundle(Map<String, FilledReport> filledReports) {
+        this.filledReports = Map.copyOf(filledReports);
+    }
+
+    /**
+     * @param template the name of a template.
+     * @return the report filled from it.
+     * @throws IllegalArgumentException if the bundle holds no report filled from it.
+     */
+    public FilledReport get(String template) {
+        FilledReport filledReport = filledReports.get(template);
+        if (filledReport == null) {
+            throw new IllegalArgumentException("No report filled from " + template);
+        }
+        return filledReport;
+    }
+
+    @Override
+    public void close() {
+        filledReports.values().forEach(FilledReport::close);
+    }
+}
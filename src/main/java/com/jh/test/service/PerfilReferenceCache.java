@@ -0,0 +1,157 @@
+package com.jh.test.service;
+
+import com.jh.test.domain.Perfil;
+import com.jh.test.repository.PerfilRepository;
+import com.jh.test.service.dto.PerfilDTO;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process cache of the perfils, so the appUser writes can attach their perfil without querying it.
+ * <p>
+ * The perfil table is small and rarely changes, so every perfil is loaded at once, and loaded again after any change made
+ * through {@link PerfilService}. A perfil missing from the cache, like one created by another instance, is read through.
+ * <p>
+ * The cached perfils are never modified in place: each load builds a new map and swaps it in whole, unless the cache was
+ * invalidated while it was being built, so a load racing with a change cannot put the previous rows back.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PerfilReferenceCache {
+
+    private final Logger log = LoggerFactory.getLogger(PerfilReferenceCache.class);
+
+    private final PerfilRepository perfilRepository;
+
+    // Every perfil by id, or null until loaded; only replaced while holding the lock
+    private volatile Map<Long, PerfilDTO> perfils;
+
+    // Incremented on each invalidation, so a map built before it is not swapped in
+    private long generation;
+
+    public PerfilReferenceCache(PerfilRepository perfilRepository) {
+        this.perfilRepository = perfilRepository;
+    }
+
+    /**
+     * Load every perfil, once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loadAll();
+    }
+
+    /**
+     * Get a perfil, from the cache if possible.
+     *
+     * @param id the id of the perfil.
+     * @return the perfil, if it exists.
+     */
+    public Optional<PerfilDTO> find(Long id) {
+        Map<Long, PerfilDTO> current = perfils;
+        if (current == null) {
+            current = loadAll();
+        }
+        PerfilDTO cached = current.get(id);
+        if (cached == null) {
+            log.debug("Perfil {} is not cached, reading it", id);
+            long readGeneration = generation();
+            Optional<PerfilDTO> perfil = perfilRepository.findById(id).map(PerfilReferenceCache::perfilDTO);
+            perfil.ifPresent(found -> add(found, readGeneration));
+            return perfil.map(PerfilReferenceCache::copy);
+        }
+        return Optional.of(copy(cached));
+    }
+
+    /**
+     * Get a reference to a perfil, to attach it to an appUser without loading it.
+     *
+     * @param id the id of the perfil, which must have been {@link #find(Long) found}.
+     * @return the reference to the perfil.
+     */
+    public Perfil getReference(Long id) {
+        return perfilRepository.getReferenceById(id);
+    }
+
+    /**
+     * Drop every cached perfil, once the current transaction, if any, has committed; they are loaded again on the next lookup.
+     */
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        invalidate();
+                    }
+                }
+            );
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * Drop every cached perfil right away, as one of them was found to be missing from the database, like a perfil
+     * deleted by another instance.
+     */
+    public void evict() {
+        invalidate();
+    }
+
+    private Map<Long, PerfilDTO> loadAll() {
+        long readGeneration = generation();
+        Map<Long, PerfilDTO> loaded = new HashMap<>();
+        perfilRepository.findAll().forEach(perfil -> loaded.put(perfil.getId(), perfilDTO(perfil)));
+        synchronized (this) {
+            if (generation == readGeneration) {
+                perfils = loaded;
+            }
+        }
+        log.debug("Loaded {} perfils", loaded.size());
+        return loaded;
+    }
+
+    private synchronized void add(PerfilDTO perfilDTO, long readGeneration) {
+        if (generation == readGeneration && perfils != null) {
+            Map<Long, PerfilDTO> updated = new HashMap<>(perfils);
+            updated.put(perfilDTO.getId(), perfilDTO);
+            perfils = updated;
+        }
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private synchronized void invalidate() {
+        generation++;
+        perfils = null;
+    }
+
+    private static PerfilDTO perfilDTO(Perfil perfil) {
+        PerfilDTO perfilDTO = new PerfilDTO();
+        perfilDTO.setId(perfil.getId());
+        perfilDTO.setName(perfil.getName());
+        perfilDTO.setVersion(perfil.getVersion());
+        return perfilDTO;
+    }
+
+    // The cached DTOs are shared, so callers get their own copy
+    private static PerfilDTO copy(PerfilDTO cached) {
+        PerfilDTO perfilDTO = new PerfilDTO();
+        perfilDTO.setId(cached.getId());
+        perfilDTO.setName(cached.getName());
+        perfilDTO.setVersion(cached.getVersion());
+        return perfilDTO;
+    }
+}
@@ -4,11 +4,16 @@ import com.jh.test.domain.Perfil;
 import com.jh.test.repository.PerfilRepository;
 import com.jh.test.service.dto.PerfilDTO;
 import com.jh.test.service.mapper.PerfilMapper;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +30,20 @@ public class PerfilService {
 
     private final PerfilMapper perfilMapper;
 
-    public PerfilService(PerfilRepository perfilRepository, PerfilMapper perfilMapper) {
+    private final DataVersionService dataVersionService;
+
+    private final PerfilReferenceCache perfilReferenceCache;
+
+    public PerfilService(
+        PerfilRepository perfilRepository,
+        PerfilMapper perfilMapper,
+        DataVersionService dataVersionService,
+        PerfilReferenceCache perfilReferenceCache
+    ) {
         this.perfilRepository = perfilRepository;
         this.perfilMapper = perfilMapper;
+        this.dataVersionService = dataVersionService;
+        this.perfilReferenceCache = perfilReferenceCache;
     }
 
     /**
@@ -40,6 +56,8 @@ public class PerfilService {
         log.debug("Request to save Perfil : {}", perfilDTO);
         Perfil perfil = perfilMapper.toEntity(perfilDTO);
         perfil = perfilRepository.save(perfil);
+        dataVersionService.bump();
+        perfilReferenceCache.refresh();
         return perfilMapper.toDto(perfil);
     }
 
@@ -47,13 +65,37 @@ public class PerfilService {
      * Update a perfil.
      *
      * @param perfilDTO the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the perfil does not exist.
      */
-    public PerfilDTO update(PerfilDTO perfilDTO) {
+    public Optional<PerfilDTO> update(PerfilDTO perfilDTO) {
+        return update(perfilDTO, current -> true);
+    }
+
+    /**
+     * Update a perfil, if its current version satisfies a precondition.
+     * <p>
+     * The perfil is loaded once and modified in place, then flushed right away, so the returned entity has its new version.
+     *
+     * @param perfilDTO the entity to save.
+     * @param precondition the precondition on the current version of the perfil.
+     * @return the persisted entity, or empty if the perfil does not exist.
+     * @throws PreconditionFailedException if the current version does not satisfy the precondition.
+     */
+    public Optional<PerfilDTO> update(PerfilDTO perfilDTO, Predicate<Long> precondition) {
         log.debug("Request to update Perfil : {}", perfilDTO);
-        Perfil perfil = perfilMapper.toEntity(perfilDTO);
-        perfil = perfilRepository.save(perfil);
-        return perfilMapper.toDto(perfil);
+
+        return perfilRepository
+            .findById(perfilDTO.getId())
+            .map(existingPerfil -> {
+                checkVersion(existingPerfil, precondition);
+                existingPerfil.setName(perfilDTO.getName());
+                return perfilRepository.saveAndFlush(existingPerfil);
+            })
+            .map(perfil -> {
+                dataVersionService.bump();
+                perfilReferenceCache.refresh();
+                return perfilMapper.toDto(perfil);
+            });
     }
 
     /**
@@ -63,17 +105,39 @@ public class PerfilService {
      * @return the persisted entity.
      */
     public Optional<PerfilDTO> partialUpdate(PerfilDTO perfilDTO) {
+        return partialUpdate(perfilDTO, current -> true);
+    }
+
+    /**
+     * Partially update a perfil, if its current version satisfies a precondition.
+     *
+     * @param perfilDTO the entity to update partially.
+     * @param precondition the precondition on the current version of the perfil.
+     * @return the persisted entity.
+     * @throws PreconditionFailedException if the current version does not satisfy the precondition.
+     */
+    public Optional<PerfilDTO> partialUpdate(PerfilDTO perfilDTO, Predicate<Long> precondition) {
         log.debug("Request to partially update Perfil : {}", perfilDTO);
 
         return perfilRepository
             .findById(perfilDTO.getId())
             .map(existingPerfil -> {
+                checkVersion(existingPerfil, precondition);
                 perfilMapper.partialUpdate(existingPerfil, perfilDTO);
 
-                return existingPerfil;
+                return perfilRepository.saveAndFlush(existingPerfil);
             })
-            .map(perfilRepository::save)
-            .map(perfilMapper::toDto);
+            .map(perfil -> {
+                dataVersionService.bump();
+                perfilReferenceCache.refresh();
+                return perfilMapper.toDto(perfil);
+            });
+    }
+
+    private void checkVersion(Perfil perfil, Predicate<Long> precondition) {
+        if (!precondition.test(perfil.getVersion())) {
+            throw new PreconditionFailedException("Perfil " + perfil.getId() + " has changed");
+        }
     }
 
     /**
@@ -88,6 +152,19 @@ public class PerfilService {
         return perfilRepository.findAll(pageable).map(perfilMapper::toDto);
     }
 
+    /**
+     * Get a slice of the perfils following the given id, ordered by id, without counting them.
+     *
+     * @param afterId the id of the last perfil already read, or {@code null} to start from the first one.
+     * @param size the maximum number of perfils to return.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PerfilDTO> findAllAfter(Long afterId, int size) {
+        log.debug("Request to get a slice of {} Perfils after : {}", size, afterId);
+        return perfilRepository.findNext(afterId == null ? Long.MIN_VALUE : afterId, PageRequest.of(0, size)).map(perfilMapper::toDto);
+    }
+
     /**
      * Get one perfil by id.
      *
@@ -100,6 +177,18 @@ public class PerfilService {
         return perfilRepository.findById(id).map(perfilMapper::toDto);
     }
 
+    /**
+     * Get the version of one perfil by id, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        log.debug("Request to get the version of Perfil : {}", id);
+        return perfilRepository.findVersionById(id);
+    }
+
     /**
      * Delete the perfil by id.
      *
@@ -108,5 +197,26 @@ public class PerfilService {
     public void delete(Long id) {
         log.debug("Request to delete Perfil : {}", id);
         perfilRepository.deleteById(id);
+        dataVersionService.bump();
+        perfilReferenceCache.refresh();
+    }
+
+    /**
+     * Delete perfils by id, with a single statement.
+     *
+     * @param ids the ids of the entities; the ones not found are ignored.
+     * @return the number of perfils deleted.
+     */
+    public int deleteAll(Collection<Long> ids) {
+        log.debug("Request to delete {} Perfils", ids.size());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = perfilRepository.deleteAllByIds(Set.copyOf(ids));
+        if (deleted > 0) {
+            dataVersionService.bump();
+            perfilReferenceCache.refresh();
+        }
+        return deleted;
     }
 }
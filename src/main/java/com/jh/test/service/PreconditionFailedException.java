@@ -0,0 +1,13 @@
+package com.jh.test.service;
+
+/**
+ * Thrown when an entity is updated while its current version is not the one the client expects.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
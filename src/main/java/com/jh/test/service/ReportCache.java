@@ -0,0 +1,139 @@
+package com.jh.test.service;
+
+import com.jh.test.config.ApplicationProperties;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cache of the generated report documents.
+ * <p>
+ * Documents are keyed by template, format, parameters and {@link DataVersionService data version}, so a change to the data
+ * makes every cached document unreachable; they then age out of the {@link #REPORTS_CACHE} region, which is bounded in bytes.
+ */
+@Service
+public class ReportCache {
+
+    public static final String REPORTS_CACHE = "reports";
+
+    private final Logger log = LoggerFactory.getLogger(ReportCache.class);
+
+    private final Cache cache;
+
+    private final int maxEntryBytes;
+
+    public ReportCache(CacheManager cacheManager, ApplicationProperties applicationProperties) {
+        this.cache = cacheManager.getCache(REPORTS_CACHE);
+        this.maxEntryBytes = applicationProperties.getReport().getCache().getMaxEntryBytes();
+    }
+
+    /**
+     * Build the key of a report document.
+     * <p>
+     * The data version must be read before the report is filled, so a document filled while the data changes is never cached
+     * as current.
+     *
+     * @param template the name of the report template.
+     * @param format the report format.
+     * @param dataVersion the version of the data the report is filled from.
+     * @param parameters the report parameters.
+     * @return the key of the document.
+     */
+    public String key(String template, ReportFormat format, long dataVersion, Map<String, ?> parameters) {
+        return template + ":" + format.getValue() + ":" + dataVersion + ":" + new TreeMap<>(parameters);
+    }
+
+    /**
+     * Get a cached report document.
+     *
+     * @param key the key of the document.
+     * @return the document, if it is cached.
+     */
+    public Optional<byte[]> get(String key) {
+        return Optional.ofNullable(cache.get(key, byte[].class));
+    }
+
+    /**
+     * Wrap the stream a report document is written to, so the document is cached once written.
+     * <p>
+     * Documents larger than {@code application.report.cache.max-entry-bytes} are passed through without being cached.
+     *
+     * @param key the key of the document.
+     * @param outputStream the stream receiving the document.
+     * @return the stream to write the document to; the document is cached when it is closed, which leaves the wrapped stream open.
+     */
+    public CachingOutputStream capture(String key, OutputStream outputStream) {
+        return new CachingOutputStream(key, outputStream);
+    }
+
+    /**
+     * Stream copying the document written through it, cached once the stream is {@link #close() closed}.
+     */
+    public final class CachingOutputStream extends OutputStream {
+
+        private final String key;
+
+        private final OutputStream outputStream;
+
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        private CachingOutputStream(String key, OutputStream outputStream) {
+            this.key = key;
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            outputStream.write(b);
+            if (fits(1)) {
+                copy.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            outputStream.write(b, off, len);
+            if (fits(len)) {
+                copy.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            outputStream.flush();
+        }
+
+        /**
+         * Drop the copy, when the document could not be written completely.
+         */
+        public void discard() {
+            copy = null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputStream.flush();
+            if (copy != null) {
+                log.debug("Caching report {} ({} bytes)", key, copy.size());
+                cache.put(key, copy.toByteArray());
+                copy = null;
+            }
+        }
+
+        private boolean fits(int len) {
+            if (copy != null && copy.size() + len > maxEntryBytes) {
+                log.debug("Report {} is larger than {} bytes, not caching it", key, maxEntryBytes);
+                copy = null;
+            }
+            return copy != null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.jh.test.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Output formats supported by {@link ReportService}.
+ */
+public enum ReportFormat {
+    PDF("pdf", "application/pdf", "pdf"),
+    EXCEL("excel", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+    WORD("word", "application/vnd.openxmlformats-officedocument.wordprocessingml.document", "docx");
+
+    private final String value;
+    private final String contentType;
+    private final String extension;
+
+    ReportFormat(String value, String contentType, String extension) {
+        this.value = value;
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * Get the format matching the given name, as used in the report URLs ({@code pdf}, {@code excel}, {@code word}).
+     *
+     * @param value the format name, case insensitive.
+     * @return the matching format, if any.
+     */
+    public static Optional<ReportFormat> fromValue(String value) {
+        return Arrays.stream(values()).filter(format -> format.value.equalsIgnoreCase(value)).findFirst();
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,218 @@
+package com.jh.test.service;
+
+import com.jh.test.config.ApplicationProperties;
+import com.jh.test.service.dto.ReportJobDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service generating reports in the background.
+ * <p>
+ * Jobs run on a dedicated, bounded pool so long reports never hold a request thread. The documents are written to the spool
+ * directory and removed, together with their job, once {@code application.report.jobs.time-to-live-seconds} has elapsed.
+ */
+@Service
+public class ReportJobService {
+
+    public static final String QUEUE_GAUGE_NAME = "report.jobs.queue";
+    public static final String LATENCY_TIMER_NAME = "report.jobs.latency";
+
+    private final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    private final ReportService reportService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ThreadPoolTaskExecutor executor;
+
+    private final Path spoolDirectory;
+
+    private final Duration timeToLive;
+
+    private final ConcurrentMap<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    public ReportJobService(ReportService reportService, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.reportService = reportService;
+        this.meterRegistry = meterRegistry;
+        ApplicationProperties.Report.Jobs jobsProperties = applicationProperties.getReport().getJobs();
+        this.spoolDirectory = Paths.get(jobsProperties.getSpoolDirectory());
+        this.timeToLive = Duration.ofSeconds(jobsProperties.getTimeToLiveSeconds());
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobsProperties.getPoolSize());
+        executor.setMaxPoolSize(jobsProperties.getPoolSize());
+        executor.setQueueCapacity(jobsProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("report-job-");
+        executor.initialize();
+
+        Gauge
+            .builder(QUEUE_GAUGE_NAME, executor, pool -> pool.getThreadPoolExecutor().getQueue().size())
+            .description("Report jobs waiting for a thread")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queue the generation of a report.
+     *
+     * @param format the report format.
+     * @return the queued job.
+     * @throws ReportQueueFullException if the queue is full.
+     */
+    public ReportJobDTO submit(ReportFormat format) {
+        log.debug("Request to queue a {} report job", format);
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), format);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            throw new ReportQueueFullException("The report queue is full", e);
+        }
+        return job.toDto();
+    }
+
+    /**
+     * Get a report job.
+     *
+     * @param id the id of the job.
+     * @return the job, if it exists and has not expired.
+     */
+    public Optional<ReportJobDTO> findOne(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(ReportJob::toDto);
+    }
+
+    /**
+     * Get the document generated by a completed report job.
+     *
+     * @param id the id of the job.
+     * @return the path of the document, if the job exists and is completed.
+     */
+    public Optional<Path> findFile(String id) {
+        return Optional.ofNullable(jobs.get(id)).filter(job -> job.status == ReportJobDTO.Status.COMPLETED).map(job -> job.file);
+    }
+
+    /**
+     * Remove the jobs, and their documents, finished for longer than the configured time to live.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void removeExpiredJobs() {
+        Instant expiration = Instant.now().minus(timeToLive);
+        jobs
+            .values()
+            .removeIf(job -> {
+                if (job.completedDate == null || job.completedDate.isAfter(expiration)) {
+                    return false;
+                }
+                log.debug("Removing expired report job {}", job.id);
+                deleteFile(job);
+                return true;
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void run(ReportJob job) {
+        job.status = ReportJobDTO.Status.FILLING;
+        Path file = spoolDirectory.resolve(job.id + "." + job.format.getExtension());
+        try {
+            Files.createDirectories(spoolDirectory);
+            Optional<byte[]> cached = reportService.findCachedReport(job.format);
+            if (cached.isPresent()) {
+                Files.write(file, cached.get());
+            } else {
+                try (FilledReport filledReport = reportService.fillReport(job.format)) {
+                    job.status = ReportJobDTO.Status.EXPORTING;
+                    try (OutputStream outputStream = Files.newOutputStream(file)) {
+                        reportService.exportReport(job.format, filledReport, outputStream);
+                    }
+                }
+            }
+            job.file = file;
+            job.size = Files.size(file);
+            job.completedDate = Instant.now();
+            job.status = ReportJobDTO.Status.COMPLETED;
+        } catch (Throwable e) {
+            log.error("Report job {} failed: {}", job.id, e.toString());
+            job.file = file;
+            deleteFile(job);
+            job.error = e.getMessage();
+            job.completedDate = Instant.now();
+            job.status = ReportJobDTO.Status.FAILED;
+            // An error, like running out of memory while filling, still fails the job before reaching the worker thread
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            Timer
+                .builder(LATENCY_TIMER_NAME)
+                .description("Time from the submission of a report job to its completion")
+                .tag("format", job.format.getValue())
+                .tag("status", job.status.name().toLowerCase())
+                .register(meterRegistry)
+                .record(Duration.between(job.createdDate, job.completedDate));
+        }
+    }
+
+    private void deleteFile(ReportJob job) {
+        if (job.file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(job.file);
+        } catch (IOException e) {
+            log.warn("Could not delete the document of report job {}: {}", job.id, e.getMessage());
+        }
+    }
+
+    private static final class ReportJob {
+
+        private final String id;
+        private final ReportFormat format;
+        private final Instant createdDate = Instant.now();
+        private volatile ReportJobDTO.Status status = ReportJobDTO.Status.QUEUED;
+        private volatile Instant completedDate;
+        private volatile Path file;
+        private volatile Long size;
+        private volatile String error;
+
+        private ReportJob(String id, ReportFormat format) {
+            this.id = id;
+            this.format = format;
+        }
+
+        private ReportJobDTO toDto() {
+            ReportJobDTO reportJobDTO = new ReportJobDTO();
+            reportJobDTO.setId(id);
+            reportJobDTO.setFormat(format.getValue());
+            reportJobDTO.setStatus(status);
+            reportJobDTO.setCreatedDate(createdDate);
+            reportJobDTO.setCompletedDate(completedDate);
+            reportJobDTO.setSize(size);
+            reportJobDTO.setError(error);
+            return reportJobDTO;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.jh.test.service;
+
+/**
+ * Thrown when a report job is submitted while the report job queue is full.
+ */
+public class ReportQueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ReportQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,28 +1,43 @@
 package com.jh.test.service;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileInputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import javax.sql.DataSource;
 
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.util.ResourceUtils;
 
+import jakarta.annotation.PreDestroy;
+
+import com.jh.test.config.ApplicationProperties;
 import com.jh.test.service.dto.AppUserDTO;
 
-import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.DefaultJasperReportsContext;
+import net.sf.jasperreports.engine.JRParameter;
 import net.sf.jasperreports.engine.JasperFillManager;
 import net.sf.jasperreports.engine.JasperPrint;
 import net.sf.jasperreports.engine.JasperReport;
-import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+import net.sf.jasperreports.engine.SimpleJasperReportsContext;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.query.JRJdbcQueryExecuterFactory;
+import net.sf.jasperreports.engine.util.JRSwapFile;
 import net.sf.jasperreports.engine.export.JRPdfExporter;
 import net.sf.jasperreports.engine.export.ooxml.JRDocxExporter;
 import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
@@ -40,131 +55,347 @@ import net.sf.jasperreports.export.SimpleXlsxReportConfiguration;
 @Service
 public class ReportService {
 
+    public static final String USER_LIST_TEMPLATE = "list_user";
+    public static final String USER_LIST_QUERY_TEMPLATE = "list_user_query";
+
+    private static final int SWAP_BLOCK_SIZE = 4096;
+    private static final int SWAP_MIN_GROW_COUNT = 100;
+
     private final DataSource dataSource;
     private final AppUserService appUserService;
+    private final ReportTemplateRegistry reportTemplateRegistry;
+    private final ReportCache reportCache;
+    private final DataVersionService dataVersionService;
+    private final ApplicationProperties.Report reportProperties;
+    private final JasperFillManager jasperFillManager;
+    private final ThreadPoolTaskExecutor exportExecutor;
 
     /**
      * Constructor for ReportService.
      * Initializes the service with the provided DataSource.
      *
-     * @param dataSource the data source for database connection.
+     * @param dataSource             the data source for database connection.
+     * @param appUserService         the service providing the users to report on.
+     * @param reportTemplateRegistry the registry holding the compiled templates.
+     * @param reportCache            the cache of the generated documents.
+     * @param dataVersionService     the version of the reported data.
+     * @param applicationProperties  the report fill settings.
      */
-    public ReportService(DataSource dataSource, AppUserService appUserService) {
+    public ReportService(DataSource dataSource, AppUserService appUserService, ReportTemplateRegistry reportTemplateRegistry,
+            ReportCache reportCache, DataVersionService dataVersionService, ApplicationProperties applicationProperties) {
         this.dataSource = dataSource;
         this.appUserService = appUserService;
+        this.reportTemplateRegistry = reportTemplateRegistry;
+        this.reportCache = reportCache;
+        this.dataVersionService = dataVersionService;
+        this.reportProperties = applicationProperties.getReport();
+
+        // Stream the rows of query based reports instead of loading the whole result set
+        SimpleJasperReportsContext jasperReportsContext = new SimpleJasperReportsContext(DefaultJasperReportsContext.getInstance());
+        jasperReportsContext.setProperty(JRJdbcQueryExecuterFactory.PROPERTY_JDBC_FETCH_SIZE,
+                String.valueOf(reportProperties.getFillPageSize()));
+        this.jasperFillManager = JasperFillManager.getInstance(jasperReportsContext);
+
+        // No queue: once every thread is busy the caller runs the export itself
+        exportExecutor = new ThreadPoolTaskExecutor();
+        exportExecutor.setCorePoolSize(reportProperties.getExportPoolSize());
+        exportExecutor.setMaxPoolSize(reportProperties.getExportPoolSize());
+        exportExecutor.setQueueCapacity(0);
+        exportExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        exportExecutor.setThreadNamePrefix("report-export-");
+        exportExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        exportExecutor.shutdown();
     }
 
     /**
      * Generate a report in PDF format and encode it in Base64.
-     * This method compiles a Jasper report template and fills it with data from the
+     * This method fills the cached Jasper report template with data from the
      * database.
      *
      * @return a Base64 encoded string of the generated PDF report.
      * @throws Exception if there is an error during report generation.
      */
     public String generatePdfReport() throws Exception {
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE);
-        List<AppUserDTO> appUserDTOs = appUserService.findAll(pageable).getContent();
-        File file = ResourceUtils.getFile("classpath:reports/list_user.jrxml");
-        JasperReport jasperReport = JasperCompileManager.compileReport(new FileInputStream(file));
-        Map<String, Object> parameters = new HashMap<>();
-        try (Connection connection = dataSource.getConnection()) {
-            JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters,
-                    new JRBeanCollectionDataSource(appUserDTOs));
-
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-            // Configurar el exportador de PDF y la encriptación
-            JRPdfExporter exporter = new JRPdfExporter();
-            exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
-            exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(baos));
-
-            SimplePdfExporterConfiguration configuration = new SimplePdfExporterConfiguration();
-            configuration.setEncrypted(true);
-            configuration.set128BitKey(true);
-
-            // formatos permitodos de rut
-            // 12.345.678-9
-            // 123456789
-            // 12345678-9
-
-            String userPassword = getLastDigitsOfRut("123456789", 5);
-            System.out.println(userPassword);
-            configuration.setUserPassword(userPassword); // Contraseña del usuario
-            configuration.setOwnerPassword("ownerPassword"); // Contraseña del propietario
-
-            exporter.setConfiguration(configuration);
-
-            exporter.exportReport();
-
-            return Base64.getEncoder().encodeToString(baos.toByteArray());
-        }
+        return generateBase64Report(ReportFormat.PDF);
     }
 
     /**
      * Generate a report in Excel format and encode it in Base64.
-     * This method compiles a Jasper report template, fills it with data, and
+     * This method fills the cached Jasper report template with data, and
      * exports it to Excel format.
      *
      * @return a Base64 encoded string of the generated Excel report.
      * @throws Exception if there is an error during report generation.
      */
     public String generateExcelReport() throws Exception {
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE);
-        List<AppUserDTO> appUserDTOs = appUserService.findAll(pageable).getContent();
-        File file = ResourceUtils.getFile("classpath:reports/list_user.jrxml");
-        JasperReport jasperReport = JasperCompileManager.compileReport(new FileInputStream(file));
-        Map<String, Object> parameters = new HashMap<>();
-
-        try (Connection connection = dataSource.getConnection()) {
-            JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters,
-                    new JRBeanCollectionDataSource(appUserDTOs));
-
-            JRXlsxExporter exporter = new JRXlsxExporter();
-            ByteArrayOutputStream os = new ByteArrayOutputStream();
-
-            exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
-            exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(os));
-
-            SimpleXlsxReportConfiguration configuration = new SimpleXlsxReportConfiguration();
-            configuration.setOnePagePerSheet(true);
-            exporter.setConfiguration(configuration);
-
-            exporter.exportReport();
-            return Base64.getEncoder().encodeToString(os.toByteArray());
-        }
+        return generateBase64Report(ReportFormat.EXCEL);
     }
 
     /**
      * Generate a report in Word format (DOCX) and encode it in Base64.
-     * This method compiles a Jasper report template, fills it with data, and
+     * This method fills the cached Jasper report template with data, and
      * exports it to Word format.
      *
      * @return a Base64 encoded string of the generated Word report.
      * @throws Exception if there is an error during report generation.
      */
     public String generateWordReport() throws Exception {
-        File file = ResourceUtils.getFile("classpath:reports/list_user_query.jrxml");
-        JasperReport jasperReport = JasperCompileManager.compileReport(new FileInputStream(file));
+        return generateBase64Report(ReportFormat.WORD);
+    }
+
+    /**
+     * Fill the report used for the given format.
+     * The PDF and Excel reports read the {@link AppUserDTO}s page by page, the
+     * Word report runs the query embedded in its template. In both cases the
+     * filled pages are swapped to disk past
+     * {@code application.report.virtualizer-max-pages}, so memory stays bounded
+     * whatever the table size.
+     *
+     * @param format the format the report will be exported to.
+     * @return the filled report, ready to be exported; it must be closed once
+     *         exported.
+     * @throws Exception if there is an error during report filling.
+     */
+    public FilledReport fillReport(ReportFormat format) throws Exception {
+        return fill(getTemplateName(format));
+    }
+
+    /**
+     * Fill the reports exported by {@link #exportReports}, once per template:
+     * the PDF and Excel documents share the report reading the
+     * {@link AppUserDTO}s page by page, the Word document gets the report
+     * running the query embedded in its template, as when it is downloaded on
+     * its own.
+     *
+     * @param formats the formats the reports will be exported to.
+     * @return the filled reports, ready to be exported; they must be closed
+     *         once exported.
+     * @throws Exception if there is an error during report filling.
+     */
+    public FilledReportBundle fillBundleReports(List<ReportFormat> formats) throws Exception {
+        Map<String, FilledReport> filledReports = new HashMap<>();
+        try {
+            for (ReportFormat format : formats) {
+                String template = getTemplateName(format);
+                if (!filledReports.containsKey(template)) {
+                    filledReports.put(template, fill(template));
+                }
+            }
+        } catch (Exception e) {
+            filledReports.values().forEach(FilledReport::close);
+            throw e;
+        }
+        return new FilledReportBundle(filledReports);
+    }
+
+    private FilledReport fill(String template) throws Exception {
+        // Read before filling: the document is cached under the version of the data it may contain
+        long dataVersion = dataVersionService.getVersion();
+        JRSwapFileVirtualizer virtualizer = new JRSwapFileVirtualizer(reportProperties.getVirtualizerMaxPages(),
+                new JRSwapFile(reportProperties.getSwapDirectory(), SWAP_BLOCK_SIZE, SWAP_MIN_GROW_COUNT), true);
         Map<String, Object> parameters = new HashMap<>();
+        parameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+        try {
+            JasperPrint jasperPrint;
+            JasperReport jasperReport = reportTemplateRegistry.getTemplate(template);
+            if (USER_LIST_QUERY_TEMPLATE.equals(template)) {
+                try (Connection connection = dataSource.getConnection()) {
+                    jasperPrint = jasperFillManager.fill(jasperReport, parameters, connection);
+                }
+            } else {
+                jasperPrint = jasperFillManager.fill(jasperReport, parameters,
+                        new AppUserReportDataSource(appUserService::findNext, reportProperties.getFillPageSize()));
+            }
+            virtualizer.setReadOnly(true);
+            return new FilledReport(jasperPrint, virtualizer, template, dataVersion);
+        } catch (Exception e) {
+            virtualizer.cleanup();
+            throw e;
+        }
+    }
 
-        try (Connection connection = dataSource.getConnection()) {
-            JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters, connection);
+    /**
+     * Get the cached document of a report, if it was generated from the current
+     * data.
+     *
+     * @param format the report format.
+     * @return the document, if it is cached.
+     */
+    public Optional<byte[]> findCachedReport(ReportFormat format) {
+        return reportCache.get(reportCache.key(getTemplateName(format), format, dataVersionService.getVersion(), Map.of()));
+    }
 
-            JRDocxExporter exporter = new JRDocxExporter();
-            ByteArrayOutputStream os = new ByteArrayOutputStream();
+    /**
+     * Export a filled report, writing the document straight to the given stream.
+     * The document is also cached, unless it is larger than
+     * {@code application.report.cache.max-entry-bytes}.
+     *
+     * @param format       the output format.
+     * @param filledReport the filled report.
+     * @param outputStream the stream receiving the document, left open.
+     * @throws Exception if there is an error during report export.
+     */
+    public void exportReport(ReportFormat format, FilledReport filledReport, OutputStream outputStream) throws Exception {
+        if (filledReport.getTemplate() == null) {
+            exportReport(format, filledReport.getJasperPrint(), outputStream);
+            return;
+        }
+        ReportCache.CachingOutputStream cachingOutputStream = reportCache.capture(
+                reportCache.key(filledReport.getTemplate(), format, filledReport.getDataVersion(), Map.of()), outputStream);
+        try {
+            exportReport(format, filledReport.getJasperPrint(), cachingOutputStream);
+        } catch (Exception e) {
+            cachingOutputStream.discard();
+            throw e;
+        }
+        cachingOutputStream.close();
+    }
 
-            exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
-            exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(os));
+    /**
+     * Export the filled reports to several formats at once, writing a ZIP archive
+     * holding one document per format to the given stream, named after the
+     * template it was filled from.
+     * The formats sharing a filled report are exported one after another, as the
+     * pages of its virtualizer must not be swapped in and out under several
+     * readers at once; the reports of different templates are exported in
+     * parallel on a pool of {@code application.report.export-pool-size}
+     * threads. The documents are written to the swap directory first, so
+     * memory stays bounded whatever their size.
+     *
+     * @param filledReports the reports filled by {@link #fillBundleReports}.
+     * @param formats       the output formats, in the order of the archive
+     *                      entries.
+     * @param outputStream  the stream receiving the archive, left open.
+     * @throws Exception if there is an error during report export.
+     */
+    public void exportReports(FilledReportBundle filledReports, List<ReportFormat> formats, OutputStream outputStream)
+            throws Exception {
+        Path swapDirectory = Paths.get(reportProperties.getSwapDirectory());
+        List<Path> files = new ArrayList<>();
+        Map<String, List<Integer>> formatsByTemplate = new LinkedHashMap<>();
+        Map<String, Future<?>> exports = new HashMap<>();
+        try {
+            for (int i = 0; i < formats.size(); i++) {
+                files.add(Files.createTempFile(swapDirectory, "report-", "." + formats.get(i).getExtension()));
+                formatsByTemplate.computeIfAbsent(getTemplateName(formats.get(i)), template -> new ArrayList<>())
+                        .add(i);
+            }
+            formatsByTemplate.forEach((template, indexes) -> {
+                FilledReport filledReport = filledReports.get(template);
+                exports.put(template, exportExecutor.submit(() -> {
+                    for (int i : indexes) {
+                        try (OutputStream fileOutputStream = Files.newOutputStream(files.get(i))) {
+                            exportReport(formats.get(i), filledReport, fileOutputStream);
+                        }
+                    }
+                    return null;
+                }));
+            });
+            ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
+            for (int i = 0; i < formats.size(); i++) {
+                String template = getTemplateName(formats.get(i));
+                awaitExport(exports.get(template));
+                zipOutputStream.putNextEntry(new ZipEntry(template + "." + formats.get(i).getExtension()));
+                Files.copy(files.get(i), zipOutputStream);
+                zipOutputStream.closeEntry();
+            }
+            zipOutputStream.finish();
+        } finally {
+            exports.values().forEach(export -> export.cancel(true));
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
 
-            SimpleDocxReportConfiguration configuration = new SimpleDocxReportConfiguration();
-            exporter.setConfiguration(configuration);
+    private void awaitExport(Future<?> export) throws Exception {
+        try {
+            export.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 
-            exporter.exportReport();
-            return Base64.getEncoder().encodeToString(os.toByteArray());
+    private void exportReport(ReportFormat format, JasperPrint jasperPrint, OutputStream outputStream) throws Exception {
+        switch (format) {
+            case PDF -> exportPdf(jasperPrint, outputStream);
+            case EXCEL -> exportExcel(jasperPrint, outputStream);
+            case WORD -> exportWord(jasperPrint, outputStream);
         }
     }
 
+    private String getTemplateName(ReportFormat format) {
+        return format == ReportFormat.WORD ? USER_LIST_QUERY_TEMPLATE : USER_LIST_TEMPLATE;
+    }
+
+    private String generateBase64Report(ReportFormat format) throws Exception {
+        Optional<byte[]> cached = findCachedReport(format);
+        if (cached.isPresent()) {
+            return Base64.getEncoder().encodeToString(cached.get());
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (FilledReport filledReport = fillReport(format)) {
+            exportReport(format, filledReport, baos);
+        }
+        return Base64.getEncoder().encodeToString(baos.toByteArray());
+    }
+
+    private void exportPdf(JasperPrint jasperPrint, OutputStream outputStream) throws Exception {
+        // Configurar el exportador de PDF y la encriptación
+        JRPdfExporter exporter = new JRPdfExporter();
+        exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+        exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(outputStream));
+
+        SimplePdfExporterConfiguration configuration = new SimplePdfExporterConfiguration();
+        configuration.setEncrypted(true);
+        configuration.set128BitKey(true);
+
+        // formatos permitodos de rut
+        // 12.345.678-9
+        // 123456789
+        // 12345678-9
+
+        String userPassword = getLastDigitsOfRut("123456789", 5);
+        configuration.setUserPassword(userPassword); // Contraseña del usuario
+        configuration.setOwnerPassword("ownerPassword"); // Contraseña del propietario
+
+        exporter.setConfiguration(configuration);
+
+        exporter.exportReport();
+    }
+
+    private void exportExcel(JasperPrint jasperPrint, OutputStream outputStream) throws Exception {
+        JRXlsxExporter exporter = new JRXlsxExporter();
+
+        exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+        exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(outputStream));
+
+        SimpleXlsxReportConfiguration configuration = new SimpleXlsxReportConfiguration();
+        configuration.setOnePagePerSheet(true);
+        exporter.setConfiguration(configuration);
+
+        exporter.exportReport();
+    }
+
+    private void exportWord(JasperPrint jasperPrint, OutputStream outputStream) throws Exception {
+        JRDocxExporter exporter = new JRDocxExporter();
+
+        exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+        exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(outputStream));
+
+        SimpleDocxReportConfiguration configuration = new SimpleDocxReportConfiguration();
+        exporter.setConfiguration(configuration);
+
+        exporter.exportReport();
+    }
+
     /**
      * Método para obtener los últimos dígitos del cuerpo del RUT.
      * 
@@ -0,0 +1,175 @@
+package com.jh.test.service;
+
+import com.jh.test.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRRuntimeException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+/**
+ * Registry of compiled Jasper report templates.
+ * <p>
+ * Each template is compiled once and kept in memory, keyed by its name (the file name without extension).
+ * A precompiled {@code .jasper} file next to the {@code .jrxml} is loaded as is, unless the {@code .jrxml} is newer. When
+ * {@code application.report.reload-on-change} is enabled, a template is loaded again as soon as either file changes.
+ */
+@Service
+public class ReportTemplateRegistry {
+
+    public static final String COMPILE_TIMER_NAME = "report.template.compile";
+    public static final String CACHE_COUNTER_NAME = "report.template.cache";
+
+    private final Logger log = LoggerFactory.getLogger(ReportTemplateRegistry.class);
+
+    private final ResourceLoader resourceLoader;
+
+    private final ApplicationProperties.Report reportProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, TemplateMeters> meters = new ConcurrentHashMap<>();
+
+    public ReportTemplateRegistry(ResourceLoader resourceLoader, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.resourceLoader = resourceLoader;
+        this.reportProperties = applicationProperties.getReport();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Compile the templates configured in {@code application.report.preload}, so the first report request does not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadTemplates() {
+        for (String name : reportProperties.getPreload()) {
+            try {
+                getTemplate(name);
+            } catch (JRRuntimeException e) {
+                log.warn("Could not preload report template {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the compiled template with the given name, compiling it if needed.
+     *
+     * @param name the template name, without extension.
+     * @return the compiled template.
+     * @throws JRRuntimeException if the template cannot be found or compiled.
+     */
+    public JasperReport getTemplate(String name) {
+        TemplateMeters templateMeters = meters(name);
+        CompiledTemplate cached = templates.get(name);
+        if (cached != null && !isStale(cached)) {
+            templateMeters.hits().increment();
+            return cached.report();
+        }
+        templateMeters.misses().increment();
+        return templates.compute(name, (key, current) -> current == null || isStale(current) ? load(key) : current).report();
+    }
+
+    /**
+     * Drop every compiled template, they will be compiled again on next use.
+     */
+    public void clear() {
+        templates.clear();
+    }
+
+    private CompiledTemplate load(String name) {
+        Resource precompiled = resourceLoader.getResource(reportProperties.getTemplateLocation() + name + ".jasper");
+        Resource source = resourceLoader.getResource(reportProperties.getTemplateLocation() + name + ".jrxml");
+        // Read before loading, so a change made meanwhile is seen as newer
+        long lastModified = lastModified(precompiled, source);
+        if (precompiled.exists() && (!source.exists() || lastModified(precompiled) >= lastModified(source))) {
+            log.debug("Loading precompiled report template {}", name);
+            try (InputStream inputStream = precompiled.getInputStream()) {
+                return new CompiledTemplate((JasperReport) JRLoader.loadObject(inputStream), precompiled, source, lastModified);
+            } catch (IOException | JRException e) {
+                throw new JRRuntimeException(e);
+            }
+        }
+
+        log.debug("Compiling report template {}", name);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (InputStream inputStream = source.getInputStream()) {
+            return new CompiledTemplate(JasperCompileManager.compileReport(inputStream), precompiled, source, lastModified);
+        } catch (IOException | JRException e) {
+            throw new JRRuntimeException(e);
+        } finally {
+            sample.stop(meters(name).compilations());
+        }
+    }
+
+    private boolean isStale(CompiledTemplate template) {
+        if (!reportProperties.isReloadOnChange()) {
+            return false;
+        }
+        return lastModified(template.precompiled(), template.source()) > template.lastModified();
+    }
+
+    /**
+     * @return the last modification time of the newest existing resource, {@code 0} if none exists.
+     */
+    private long lastModified(Resource... resources) {
+        long lastModified = 0L;
+        for (Resource resource : resources) {
+            if (resource.exists()) {
+                lastModified = Math.max(lastModified, lastModified(resource));
+            }
+        }
+        return lastModified;
+    }
+
+    private long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private TemplateMeters meters(String name) {
+        return meters.computeIfAbsent(
+            name,
+            key ->
+                new TemplateMeters(
+                    cacheCounter(key, "hit"),
+                    cacheCounter(key, "miss"),
+                    Timer
+                        .builder(COMPILE_TIMER_NAME)
+                        .description("Time spent compiling report templates")
+                        .tag("template", key)
+                        .register(meterRegistry)
+                )
+        );
+    }
+
+    private Counter cacheCounter(String name, String result) {
+        return Counter
+            .builder(CACHE_COUNTER_NAME)
+            .description("Report template lookups, by result")
+            .tag("template", name)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record CompiledTemplate(JasperReport report, Resource precompiled, Resource source, long lastModified) {}
+
+    private record TemplateMeters(Counter hits, Counter misses, Timer compilations) {}
+}
@@ -0,0 +1,74 @@
+package com.jh.test.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A DTO describing the outcome of one animal of a bulk request.
+ */
+public class AnimalBulkItemResultDTO {
+
+    @Schema(description = "Posición del animal en la petición")
+    private int index;
+
+    @Schema(description = "Identificador del animal creado o encontrado")
+    private String id;
+
+    @Schema(description = "Resultado del animal")
+    private BulkItemResultDTO.Status status;
+
+    @Schema(description = "Motivo por el que el animal no se ha guardado")
+    private String error;
+
+    public AnimalBulkItemResultDTO() {
+    }
+
+    public AnimalBulkItemResultDTO(int index, String id, BulkItemResultDTO.Status status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static AnimalBulkItemResultDTO failed(int index, String error) {
+        return new AnimalBulkItemResultDTO(index, null, BulkItemResultDTO.Status.FAILED, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public BulkItemResultDTO.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(BulkItemResultDTO.Status status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "AnimalBulkItemResultDTO{index=" + index + ", id=" + id + ", status=" + status + ", error=" + error
+                + "}";
+    }
+
+}
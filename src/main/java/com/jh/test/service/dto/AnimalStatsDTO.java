@@ -0,0 +1,107 @@
+package com.jh.test.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A DTO with the number of animals, by species and by name.
+ */
+public class AnimalStatsDTO {
+
+    @Schema(description = "Número total de animales")
+    private long total;
+
+    @Schema(description = "Especies, de la que tiene más animales a la que tiene menos")
+    private List<Especie> especies = new ArrayList<>();
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public List<Especie> getEspecies() {
+        return especies;
+    }
+
+    public void setEspecies(List<Especie> especies) {
+        this.especies = especies;
+    }
+
+    /**
+     * The number of animals of a species, with its most frequent names.
+     */
+    public static class Especie {
+
+        @Schema(description = "Especie")
+        private String especie;
+
+        @Schema(description = "Número de animales de la especie")
+        private long count;
+
+        @Schema(description = "Nombres más frecuentes de la especie, del más frecuente al menos")
+        private List<Nombre> nombres = new ArrayList<>();
+
+        public String getEspecie() {
+            return especie;
+        }
+
+        public void setEspecie(String especie) {
+            this.especie = especie;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public List<Nombre> getNombres() {
+            return nombres;
+        }
+
+        public void setNombres(List<Nombre> nombres) {
+            this.nombres = nombres;
+        }
+    }
+
+    /**
+     * The number of animals of a species with a name.
+     */
+    public static class Nombre {
+
+        @Schema(description = "Nombre")
+        private String nombre;
+
+        @Schema(description = "Número de animales de la especie con el nombre")
+        private long count;
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public void setNombre(String nombre) {
+            this.nombre = nombre;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AnimalStatsDTO{total=" + total + ", especies=" + especies.size() + "}";
+    }
+
+}
@@ -22,6 +22,8 @@ public class AppUserDTO implements Serializable {
 
     private PerfilDTO perfil;
 
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -54,6 +56,14 @@ public class AppUserDTO implements Serializable {
         this.perfil = perfil;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -83,6 +93,7 @@ public class AppUserDTO implements Serializable {
             ", name='" + getName() + "'" +
             ", lastname='" + getLastname() + "'" +
             ", perfil=" + getPerfil() +
+            ", version=" + getVersion() +
             "}";
     }
 }
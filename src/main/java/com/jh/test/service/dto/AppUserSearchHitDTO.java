@@ -0,0 +1,30 @@
+package com.jh.test.service.dto;
+
+/**
+ * A DTO for an {@link com.jh.test.domain.AppUser} matching a full-text search, with its relevance.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AppUserSearchHitDTO extends AppUserDTO {
+
+    private Float rank;
+
+    public Float getRank() {
+        return rank;
+    }
+
+    public void setRank(Float rank) {
+        this.rank = rank;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AppUserSearchHitDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            ", lastname='" + getLastname() + "'" +
+            ", perfil=" + getPerfil() +
+            ", rank=" + getRank() +
+            "}";
+    }
+}
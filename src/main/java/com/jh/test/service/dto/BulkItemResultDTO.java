@@ -0,0 +1,108 @@
+package com.jh.test.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO describing the outcome of one item of a bulk request.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class BulkItemResultDTO implements Serializable {
+
+    /**
+     * The outcome of a bulk item.
+     */
+    public enum Status {
+        CREATED,
+        UPDATED,
+        UNCHANGED,
+        FAILED,
+    }
+
+    private int index;
+
+    private Long id;
+
+    private Status status;
+
+    private String error;
+
+    public BulkItemResultDTO() {}
+
+    public BulkItemResultDTO(int index, Long id, Status status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static BulkItemResultDTO failed(int index, Long id, String error) {
+        return new BulkItemResultDTO(index, id, Status.FAILED, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BulkItemResultDTO)) {
+            return false;
+        }
+
+        BulkItemResultDTO bulkItemResultDTO = (BulkItemResultDTO) o;
+        return (
+            index == bulkItemResultDTO.index &&
+            Objects.equals(id, bulkItemResultDTO.id) &&
+            status == bulkItemResultDTO.status &&
+            Objects.equals(error, bulkItemResultDTO.error)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, id, status, error);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResultDTO{" +
+            "index=" + getIndex() +
+            ", id=" + getId() +
+            ", status='" + getStatus() + "'" +
+            ", error='" + getError() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,73 @@
+package com.jh.test.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO describing the outcome of a CSV import.
+ */
+public class ImportResultDTO implements Serializable {
+
+    private String table;
+
+    private long imported;
+
+    private long rejected;
+
+    private List<String> errors = new ArrayList<>();
+
+    private long durationMillis;
+
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImportResultDTO{" +
+            "table='" + getTable() + "'" +
+            ", imported=" + getImported() +
+            ", rejected=" + getRejected() +
+            ", errors=" + getErrors().size() +
+            ", durationMillis=" + getDurationMillis() +
+            "}";
+    }
+}
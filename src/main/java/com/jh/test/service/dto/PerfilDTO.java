@@ -16,6 +16,8 @@ public class PerfilDTO implements Serializable {
     @Size(max = 255)
     private String name;
 
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -32,6 +34,14 @@ public class PerfilDTO implements Serializable {
         this.name = name;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -59,6 +69,7 @@ public class PerfilDTO implements Serializable {
         return "PerfilDTO{" +
             "id=" + getId() +
             ", name='" + getName() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
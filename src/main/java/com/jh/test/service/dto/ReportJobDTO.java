@@ -0,0 +1,128 @@
+package com.jh.test.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO describing a report generated in the background.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ReportJobDTO implements Serializable {
+
+    /**
+     * The progress of a report job.
+     */
+    public enum Status {
+        QUEUED,
+        FILLING,
+        EXPORTING,
+        COMPLETED,
+        FAILED,
+    }
+
+    private String id;
+
+    private String format;
+
+    private Status status;
+
+    private Instant createdDate;
+
+    private Instant completedDate;
+
+    private Long size;
+
+    private String error;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getCompletedDate() {
+        return completedDate;
+    }
+
+    public void setCompletedDate(Instant completedDate) {
+        this.completedDate = completedDate;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReportJobDTO)) {
+            return false;
+        }
+
+        ReportJobDTO reportJobDTO = (ReportJobDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, reportJobDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReportJobDTO{" +
+            "id='" + getId() + "'" +
+            ", format='" + getFormat() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", completedDate='" + getCompletedDate() + "'" +
+            ", size=" + getSize() +
+            ", error='" + getError() + "'" +
+            "}";
+    }
+}
@@ -3,11 +3,16 @@ package com.jh.test.service.mapper;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import com.jh.test.domain.AppUser;
 import com.jh.test.domain.Perfil;
+import com.jh.test.repository.AppUserSearchHit;
+import com.jh.test.repository.AppUserSummary;
 import com.jh.test.service.dto.AppUserDTO;
+import com.jh.test.service.dto.AppUserSearchHitDTO;
 import com.jh.test.service.dto.PerfilDTO;
 
 /**
@@ -19,16 +24,78 @@ public interface AppUserMapper extends EntityMapper<AppUserDTO, AppUser> {
     AppUserDTO toDto(AppUser appUser);
 
     @Mapping(target = "perfil", source = "perfil")
+    @Mapping(target = "version", ignore = true)
     AppUser toEntity(AppUserDTO appUserDTO);
 
+    // El Perfil lo asigna el servicio, sin modificar el Perfil ya asociado
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "perfil", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget AppUser entity, AppUserDTO dto);
+
     // Este método podría no ser necesario si no necesitas convertir solo el ID de
     // Perfil a PerfilDTO
     @Named("perfilId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
     @Mapping(target = "name", source = "name")
+    @Mapping(target = "version", source = "version")
     PerfilDTO toDtoPerfilId(Perfil perfil);
 
+    // Para adjuntar un Perfil ya conocido sin inicializar la referencia de la entidad
+    default AppUserDTO toDto(AppUser appUser, PerfilDTO perfilDTO) {
+        if (appUser == null) {
+            return null;
+        }
+        AppUserDTO appUserDTO = new AppUserDTO();
+        appUserDTO.setId(appUser.getId());
+        appUserDTO.setName(appUser.getName());
+        appUserDTO.setLastname(appUser.getLastname());
+        appUserDTO.setVersion(appUser.getVersion());
+        appUserDTO.setPerfil(perfilDTO);
+        return appUserDTO;
+    }
+
+    default AppUserDTO toDto(AppUserSummary appUserSummary) {
+        if (appUserSummary == null) {
+            return null;
+        }
+        AppUserDTO appUserDTO = new AppUserDTO();
+        appUserDTO.setId(appUserSummary.id());
+        appUserDTO.setName(appUserSummary.name());
+        appUserDTO.setLastname(appUserSummary.lastname());
+        appUserDTO.setVersion(appUserSummary.version());
+        if (appUserSummary.perfilId() != null) {
+            PerfilDTO perfilDTO = new PerfilDTO();
+            perfilDTO.setId(appUserSummary.perfilId());
+            perfilDTO.setName(appUserSummary.perfilName());
+            perfilDTO.setVersion(appUserSummary.perfilVersion());
+            appUserDTO.setPerfil(perfilDTO);
+        }
+        return appUserDTO;
+    }
+
+    default AppUserSearchHitDTO toDto(AppUserSearchHit appUserSearchHit) {
+        if (appUserSearchHit == null) {
+            return null;
+        }
+        AppUserSearchHitDTO appUserSearchHitDTO = new AppUserSearchHitDTO();
+        appUserSearchHitDTO.setId(appUserSearchHit.getId());
+        appUserSearchHitDTO.setName(appUserSearchHit.getName());
+        appUserSearchHitDTO.setLastname(appUserSearchHit.getLastname());
+        appUserSearchHitDTO.setVersion(appUserSearchHit.getVersion());
+        if (appUserSearchHit.getPerfilId() != null) {
+            PerfilDTO perfilDTO = new PerfilDTO();
+            perfilDTO.setId(appUserSearchHit.getPerfilId());
+            perfilDTO.setName(appUserSearchHit.getPerfilName());
+            perfilDTO.setVersion(appUserSearchHit.getPerfilVersion());
+            appUserSearchHitDTO.setPerfil(perfilDTO);
+        }
+        appUserSearchHitDTO.setRank(appUserSearchHit.getRank());
+        return appUserSearchHitDTO;
+    }
+
     default AppUser fromId(Long id) {
         if (id == null) {
             return null;
@@ -8,4 +8,12 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Perfil} and its DTO {@link PerfilDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface PerfilMapper extends EntityMapper<PerfilDTO, Perfil> {}
+public interface PerfilMapper extends EntityMapper<PerfilDTO, Perfil> {
+    @Mapping(target = "version", ignore = true)
+    Perfil toEntity(PerfilDTO perfilDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Perfil entity, PerfilDTO dto);
+}
@@ -0,0 +1,129 @@
+package com.jh.test.web.rest;
+
+import java.net.URI;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jh.test.service.AnimalReactiveService;
+import com.jh.test.service.dto.AnimalDTO;
+import com.jh.test.web.rest.errors.BadRequestAlertException;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking REST controller for managing {@link com.jh.test.domain.Animal},
+ * alongside {@link AnimalResource}.
+ * <p>
+ * The request thread is released as soon as the query is sent to MongoDB, and
+ * the response is written when MongoDB answers, so the number of requests in
+ * flight is not bound by the number of request threads. The listings are
+ * streamed one animal per line when {@code application/x-ndjson} is accepted,
+ * and sent as a single JSON array otherwise.
+ */
+@RestController
+@RequestMapping("/api/reactive/animals")
+public class AnimalReactiveResource {
+
+    private final AnimalReactiveService animalReactiveService;
+    private static final Logger log = LoggerFactory.getLogger(AnimalReactiveResource.class);
+    private static final String ENTITY_NAME = "testjhAnimal";
+
+    public AnimalReactiveResource(AnimalReactiveService animalReactiveService) {
+        this.animalReactiveService = animalReactiveService;
+    }
+
+    /**
+     * {@code POST  /reactive/animals} : Create a new animal.
+     *
+     * @param animalDTO the animalDTO to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with
+     *         body the new animalDTO, or with status {@code 400 (Bad Request)} if
+     *         the animal has already an ID.
+     */
+    @PostMapping("")
+    public Mono<ResponseEntity<AnimalDTO>> crearAnimal(@Valid @RequestBody AnimalDTO animalDTO) {
+        log.debug("REST request to save Animal : {}", animalDTO);
+        if (animalDTO.getId() != null) {
+            throw new BadRequestAlertException("A new animal cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        return animalReactiveService.guardarAnimal(animalDTO)
+                .map(result -> ResponseEntity.created(URI.create("/api/reactive/animals/" + result.getId()))
+                        .body(result));
+    }
+
+    /**
+     * {@code GET  /reactive/animals/:id} : Retrieves the animal with the specified
+     * ID.
+     *
+     * @param id the ID of the animal to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body
+     *         the animalDTO, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<AnimalDTO>> obtenerAnimal(@PathVariable String id) {
+        log.debug("REST request to get Animal : {}", id);
+        return animalReactiveService.buscarPorId(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code DELETE  /reactive/animals/:id} : Deletes an animal by its ID.
+     *
+     * @param id the ID of the animal to be deleted.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or
+     *         with status {@code 404 (Not Found)} if the animal ID does not exist.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> eliminarAnimal(@PathVariable String id) {
+        log.debug("REST request to delete Animal with id: {}", id);
+        return animalReactiveService.eliminarAnimal(id)
+                .map(deleted -> deleted ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    /**
+     * {@code GET  /reactive/animals/buscar} : Retrieves a page of animals based on
+     * the provided search criteria, without counting them.
+     *
+     * @param especie  the species of the animal (optional).
+     * @param nombre   the name of the animal (optional).
+     * @param pageable the pagination information.
+     * @return the {@link AnimalDTO} objects that match the search criteria.
+     */
+    @GetMapping(value = "/buscar", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<AnimalDTO> buscarAnimales(@RequestParam(required = false) String especie,
+            @RequestParam(required = false) String nombre,
+            @org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+        log.debug("REST request to search a page of Animals by species '{}' and name '{}'", especie, nombre);
+        return animalReactiveService.buscar(especie, nombre, pageable);
+    }
+
+    /**
+     * {@code GET  /reactive/animals} : Retrieves a page of the animals, without
+     * counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link AnimalDTO} objects of the page.
+     */
+    @GetMapping(value = "", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<AnimalDTO> listarTodosLosAnimales(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+        log.debug("REST request to get a page of Animals");
+        return animalReactiveService.listarTodos(pageable);
+    }
+
+}
@@ -1,12 +1,21 @@
 package com.jh.test.web.rest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,12 +27,21 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jh.test.service.AnimalService;
+import com.jh.test.service.dto.AnimalBulkItemResultDTO;
 import com.jh.test.service.dto.AnimalDTO;
+import com.jh.test.service.dto.AnimalStatsDTO;
 import com.jh.test.web.rest.errors.BadRequestAlertException;
+import com.jh.test.web.rest.util.CursorPaginationUtil;
 
 import jakarta.validation.Valid;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.jh.test.domain.Animal}.
@@ -33,11 +51,14 @@ import jakarta.validation.Valid;
 public class AnimalResource {
 
     private final AnimalService animalService;
+    private final ObjectMapper objectMapper;
     private static final Logger log = LoggerFactory.getLogger(AnimalResource.class);
     private static final String ENTITY_NAME = "testjhAnimal";
+    private static final int BULK_MAX_SIZE = 10_000;
 
-    public AnimalResource(AnimalService animalService) {
+    public AnimalResource(AnimalService animalService, ObjectMapper objectMapper) {
         this.animalService = animalService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -63,6 +84,74 @@ public class AnimalResource {
                 .body(result);
     }
 
+    /**
+     * {@code POST  /animals/bulk} : Create animals in bulk.
+     * <p>
+     * Every animal gets its own result, so invalid animals do not prevent the
+     * others from being saved. With {@code upsert}, the animals are identified by
+     * their species and name: the ones already stored are left as they are and
+     * reported as unchanged, with their ID. Two requests upserting the same
+     * animal at the same time may both create it.
+     *
+     * @param animalDTOs the animalDTOs to create.
+     * @param upsert     whether to create only the animals whose species and
+     *                   name are not stored yet.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with
+     *         body the result of every animal, in order, or with status
+     *         {@code 400 (Bad Request)} if there are more than
+     *         {@value #BULK_MAX_SIZE} animals.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AnimalBulkItemResultDTO>> crearAnimales(@RequestBody List<AnimalDTO> animalDTOs,
+            @RequestParam(defaultValue = "false") boolean upsert) {
+        log.debug("REST request to save {} Animals in bulk, upsert: {}", animalDTOs.size(), upsert);
+        checkBulkSize(animalDTOs.size());
+        return ResponseEntity.ok(animalService.guardarAnimales(animalDTOs, 0, upsert));
+    }
+
+    /**
+     * {@code POST  /animals/bulk} : Create animals in bulk, sent as newline
+     * delimited JSON.
+     * <p>
+     * The lines are read and saved a batch at a time, so the animals of the
+     * batches before an invalid line, or before the
+     * {@value #BULK_MAX_SIZE}th one, are already saved when the request fails.
+     *
+     * @param inputStream the animalDTOs to create, one per line.
+     * @param upsert      whether to create only the animals whose species and
+     *                    name are not stored yet.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with
+     *         body the result of every animal, in order, or with status
+     *         {@code 400 (Bad Request)} if a line is not a valid animalDTO or
+     *         there are more than {@value #BULK_MAX_SIZE} animals.
+     * @throws IOException if the request body could not be read.
+     * @see #crearAnimales(List, boolean)
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<AnimalBulkItemResultDTO>> crearAnimalesNdjson(InputStream inputStream,
+            @RequestParam(defaultValue = "false") boolean upsert) throws IOException {
+        log.debug("REST request to save Animals in bulk as NDJSON, upsert: {}", upsert);
+        int batchSize = animalService.getBulkBatchSize();
+        List<AnimalBulkItemResultDTO> results = new ArrayList<>();
+        List<AnimalDTO> batch = new ArrayList<>(batchSize);
+        try (MappingIterator<AnimalDTO> iterator = objectMapper.readerFor(AnimalDTO.class).readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                batch.add(iterator.nextValue());
+                checkBulkSize(results.size() + batch.size());
+                if (batch.size() == batchSize) {
+                    results.addAll(animalService.guardarAnimales(batch, results.size(), upsert));
+                    batch.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestAlertException("Invalid animal: " + e.getOriginalMessage(), ENTITY_NAME, "bulkinvalid");
+        }
+        if (!batch.isEmpty()) {
+            results.addAll(animalService.guardarAnimales(batch, results.size(), upsert));
+        }
+        return ResponseEntity.ok(results);
+    }
+
     /**
      * {@code GET  /animals/:id} : Retrieves the animal with the specified ID.
      *
@@ -97,122 +186,259 @@ public class AnimalResource {
     public ResponseEntity<AnimalDTO> actualizarAnimal(@PathVariable String id,
             @Valid @RequestBody AnimalDTO animalDTO) {
         log.debug("REST request to update Animal with id: {}: {}", id, animalDTO);
-        if (!animalService.existsById(id)) {
-            log.warn("Attempted to update non-existing animal with id: {}", id);
-            return ResponseEntity.notFound().build();
-        }
         animalDTO.setId(id);
-        AnimalDTO resultado = animalService.actualizarAnimal(animalDTO);
-        log.info("Updated Animal: {}", resultado);
-        return ResponseEntity.ok().body(resultado);
+        return animalService.actualizarAnimal(animalDTO)
+                .map(resultado -> {
+                    log.info("Updated Animal: {}", resultado);
+                    return ResponseEntity.ok().body(resultado);
+                })
+                .orElseGet(() -> {
+                    log.warn("Attempted to update non-existing animal with id: {}", id);
+                    return ResponseEntity.notFound().build();
+                });
     }
 
     /**
      * {@code DELETE  /animals/:id} : Deletes an animal by its ID.
      *
      * @param id the ID of the animal to be deleted.
-     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or
+     *         with status {@code 404 (Not Found)} if the animal ID does not exist.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> eliminarAnimal(@PathVariable String id) {
         log.debug("REST request to delete Animal with id: {}", id);
-        if (!animalService.existsById(id)) {
+        if (!animalService.eliminarAnimal(id)) {
             log.warn("Attempted to delete non-existing animal with id: {}", id);
             return ResponseEntity.notFound().build();
         }
-        animalService.eliminarAnimal(id);
         log.info("Deleted Animal with id: {}", id);
         return ResponseEntity.noContent().build();
     }
 
     /**
-     * {@code GET /animals/especie/{especie}} : Retrieves a list of animals based on
+     * {@code DELETE  /animals/bulk} : Deletes animals in bulk.
+     * <p>
+     * The animals are deleted with a single command. The IDs not found are
+     * ignored.
+     *
+     * @param ids the IDs of the animals to be deleted.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or
+     *         with status {@code 400 (Bad Request)} if an ID is null or there are
+     *         more than {@value #BULK_MAX_SIZE} IDs.
+     */
+    @DeleteMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> eliminarAnimales(@RequestBody List<String> ids) {
+        log.debug("REST request to delete {} Animals in bulk", ids.size());
+        if (ids.size() > BULK_MAX_SIZE) {
+            throw new BadRequestAlertException("Too many IDs, at most " + BULK_MAX_SIZE, ENTITY_NAME,
+                    "bulktoolarge");
+        }
+        if (ids.contains(null)) {
+            throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idnull");
+        }
+        long deleted = animalService.eliminarAnimales(ids);
+        log.info("Deleted {} of {} Animals in bulk", deleted, ids.size());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * {@code GET /animals/especie/{especie}} : Retrieves a page of animals based on
      * the specified species.
      *
-     * @param especie the species of the animals to retrieve.
-     * @return a list of {@link AnimalDTO} objects matching the specified species.
+     * @param especie  the species of the animals to retrieve.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
+     *         of {@link AnimalDTO} objects matching the specified species in body.
      */
     @GetMapping("/especie/{especie}")
-    public List<AnimalDTO> obtenerAnimalesPorEspecie(@PathVariable String especie) {
-        log.debug("REST request to get Animals by species: {}", especie);
-        List<AnimalDTO> animales = animalService.buscarPorEspecie(especie);
-        if (animales.isEmpty()) {
-            log.info("No animals found for species: {}", especie);
-        } else {
-            log.info("Found {} animals for species: {}", animales.size(), especie);
-        }
-        return animales;
+    public ResponseEntity<List<AnimalDTO>> obtenerAnimalesPorEspecie(@PathVariable String especie,
+            @org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+        log.debug("REST request to get a page of Animals by species: {}", especie);
+        return paginaDeAnimales(animalService.buscarPorEspecie(especie, pageable));
     }
 
     /**
-     * {@code GET /animals/nombre/{nombre}} : Retrieves a list of animals based on
+     * {@code GET /animals/nombre/{nombre}} : Retrieves a page of animals based on
      * the given name.
      *
-     * @param nombre the name of the animals to retrieve.
-     * @return a list of {@link AnimalDTO} objects with the specified name.
+     * @param nombre   the name of the animals to retrieve.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
+     *         of {@link AnimalDTO} objects with the specified name in body.
      */
     @GetMapping("/nombre/{nombre}")
-    public List<AnimalDTO> obtenerAnimalesPorNombre(@PathVariable String nombre) {
-        log.debug("REST request to get Animals by name: {}", nombre);
-        List<AnimalDTO> animales = animalService.buscarPorNombre(nombre);
-        if (animales.isEmpty()) {
-            log.info("No animals found with name: {}", nombre);
-        } else {
-            log.info("Found {} animals with name: {}", animales.size(), nombre);
-        }
-        return animales;
+    public ResponseEntity<List<AnimalDTO>> obtenerAnimalesPorNombre(@PathVariable String nombre,
+            @org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+        log.debug("REST request to get a page of Animals by name: {}", nombre);
+        return paginaDeAnimales(animalService.buscarPorNombre(nombre, pageable));
     }
 
     /**
-     * {@code GET  /animals/buscar} : Retrieves a list of animals based on the
+     * {@code GET  /animals/buscar} : Retrieves a page of animals based on the
      * provided search criteria.
      *
-     * @param especie the species of the animal (optional).
-     * @param nombre  the name of the animal (optional).
-     * @return a list of {@link AnimalDTO} objects that match the search criteria.
+     * @param especie  the species of the animal (optional).
+     * @param nombre   the name of the animal (optional).
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
+     *         of {@link AnimalDTO} objects that match the search criteria in body.
      */
     @GetMapping("/buscar")
-    public List<AnimalDTO> buscarAnimales(@RequestParam(required = false) String especie,
-            @RequestParam(required = false) String nombre) {
-        List<AnimalDTO> animales;
+    public ResponseEntity<List<AnimalDTO>> buscarAnimales(@RequestParam(required = false) String especie,
+            @RequestParam(required = false) String nombre,
+            @org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+        Page<AnimalDTO> page;
         if (especie != null && nombre != null) {
-            log.debug("Searching for animals by species '{}' and name '{}'", especie, nombre);
-            animales = animalService.buscarPorEspecieYNombre(especie, nombre);
+            log.debug("Searching for a page of animals by species '{}' and name '{}'", especie, nombre);
+            page = animalService.buscarPorEspecieYNombre(especie, nombre, pageable);
         } else if (especie != null) {
-            log.debug("Searching for animals by species '{}'", especie);
-            animales = animalService.buscarPorEspecie(especie);
+            log.debug("Searching for a page of animals by species '{}'", especie);
+            page = animalService.buscarPorEspecie(especie, pageable);
         } else if (nombre != null) {
-            log.debug("Searching for animals by name '{}'", nombre);
-            animales = animalService.buscarPorNombre(nombre);
+            log.debug("Searching for a page of animals by name '{}'", nombre);
+            page = animalService.buscarPorNombre(nombre, pageable);
         } else {
-            log.debug("Listing all animals");
-            animales = animalService.listarTodos();
+            log.debug("Listing a page of animals");
+            page = animalService.listarTodos(pageable);
         }
+        return paginaDeAnimales(page);
+    }
 
-        if (animales.isEmpty()) {
-            log.info("No animals found for the given search criteria");
-        } else {
-            log.info("Found {} animals for the given search criteria", animales.size());
+    /**
+     * {@code GET  /animals/buscar?after=:cursor} : Retrieves a slice of the
+     * animals matching the provided search criteria and following a cursor,
+     * ordered by ID.
+     * <p>
+     * Unlike the offset pagination, deep slices cost the same as the first one
+     * and the animals are not counted. The cursor of the next slice is returned in
+     * the {@code X-Next-Cursor} header, which is absent on the last slice.
+     *
+     * @param especie the species of the animal (optional).
+     * @param nombre  the name of the animal (optional).
+     * @param after   the cursor returned with the previous slice, empty for the
+     *                first slice.
+     * @param size    the size of the slice.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
+     *         of {@link AnimalDTO} objects in body, or with status
+     *         {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping(value = "/buscar", params = CursorPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<AnimalDTO>> buscarAnimalesDespuesDe(@RequestParam(required = false) String especie,
+            @RequestParam(required = false) String nombre,
+            @RequestParam(CursorPaginationUtil.AFTER_PARAMETER) String after,
+            @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_PAGE_SIZE) int size) {
+        log.debug("REST request to get a slice of Animals by species '{}' and name '{}' after: {}", especie, nombre,
+                after);
+        String afterId;
+        try {
+            afterId = CursorPaginationUtil.decodeCursorText(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
         }
-
-        return animales;
+        if (afterId != null && !ObjectId.isValid(afterId)) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        Slice<AnimalDTO> slice = animalService.buscarDespuesDe(especie, nombre, afterId,
+                CursorPaginationUtil.pageSize(size));
+        HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(), slice,
+                animalDTO -> CursorPaginationUtil.encodeCursor(animalDTO.getId()));
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
     }
 
     /**
-     * {@code GET  /animals} : Retrieves a list of all animals.
+     * {@code GET  /animals} : Retrieves a page of the animals.
      *
-     * @return A list of {@link AnimalDTO} objects representing all animals.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
+     *         of {@link AnimalDTO} objects in body.
      */
     @GetMapping("")
-    public List<AnimalDTO> listarTodosLosAnimales() {
-        log.debug("REST request to get all Animals");
-        List<AnimalDTO> animales = animalService.listarTodos();
-        if (animales.isEmpty()) {
-            log.info("No animals found in the database");
-        } else {
-            log.info("Found {} animals in the database", animales.size());
+    public ResponseEntity<List<AnimalDTO>> listarTodosLosAnimales(
+            @org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+        log.debug("REST request to get a page of Animals");
+        return paginaDeAnimales(animalService.listarTodos(pageable));
+    }
+
+    /**
+     * {@code GET  /animals?after=:cursor} : Retrieves a slice of the animals
+     * following a cursor, ordered by ID.
+     *
+     * @param after the cursor returned with the previous slice, empty for the
+     *              first slice.
+     * @param size  the size of the slice.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
+     *         of {@link AnimalDTO} objects in body, or with status
+     *         {@code 400 (Bad Request)} if the cursor is not valid.
+     * @see #buscarAnimalesDespuesDe(String, String, String, int)
+     */
+    @GetMapping(value = "", params = CursorPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<AnimalDTO>> listarAnimalesDespuesDe(
+            @RequestParam(CursorPaginationUtil.AFTER_PARAMETER) String after,
+            @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_PAGE_SIZE) int size) {
+        return buscarAnimalesDespuesDe(null, null, after, size);
+    }
+
+    /**
+     * {@code GET  /animals/export} : Exports the animals matching the provided
+     * search criteria, ordered by ID, as newline delimited JSON.
+     * <p>
+     * The animals are streamed from a MongoDB cursor to the response, so any
+     * number of them can be exported.
+     *
+     * @param especie   the species of the animal (optional).
+     * @param nombre    the name of the animal (optional).
+     * @param batchSize the number of animals read from MongoDB at a time.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+     *         animals in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportarAnimales(@RequestParam(required = false) String especie,
+            @RequestParam(required = false) String nombre,
+            @RequestParam(defaultValue = "" + AnimalService.DEFAULT_BATCH_SIZE) int batchSize) {
+        log.debug("REST request to export Animals by species '{}' and name '{}'", especie, nombre);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=animales.ndjson")
+                .body(outputStream -> animalService.exportarNdjson(especie, nombre, batchSize, outputStream));
+    }
+
+    /**
+     * {@code GET  /animals/stats} : Counts the animals, by species and by name.
+     * <p>
+     * The counts are computed by MongoDB, and kept for a short time, so they may
+     * miss the latest changes.
+     *
+     * @param top the number of names returned for every species.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+     *         statistics in body, or with status {@code 400 (Bad Request)} if
+     *         {@code top} is not between 1 and
+     *         {@value AnimalService#MAX_TOP_NOMBRES}.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<AnimalStatsDTO> obtenerEstadisticas(
+            @RequestParam(defaultValue = "" + AnimalService.DEFAULT_TOP_NOMBRES) int top) {
+        log.debug("REST request to get the Animal statistics with the top {} names", top);
+        if (top < 1 || top > AnimalService.MAX_TOP_NOMBRES) {
+            throw new BadRequestAlertException("Invalid top, from 1 to " + AnimalService.MAX_TOP_NOMBRES, ENTITY_NAME,
+                    "topinvalid");
         }
-        return animales;
+        return ResponseEntity.ok(animalService.estadisticas(top));
+    }
+
+    private void checkBulkSize(int size) {
+        if (size > BULK_MAX_SIZE) {
+            throw new BadRequestAlertException("Too many animals, at most " + BULK_MAX_SIZE, ENTITY_NAME,
+                    "bulktoolarge");
+        }
+    }
+
+    private ResponseEntity<List<AnimalDTO>> paginaDeAnimales(Page<AnimalDTO> page) {
+        log.info("Found {} of {} animals", page.getNumberOfElements(), page.getTotalElements());
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
 }
@@ -1,28 +1,44 @@
 package com.jh.test.web.rest;
 
-import com.jh.test.repository.AppUserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jh.test.repository.AppUserVersion;
 import com.jh.test.service.AppUserService;
 import com.jh.test.service.dto.AppUserDTO;
+import com.jh.test.service.dto.AppUserSearchHitDTO;
+import com.jh.test.service.dto.BulkItemResultDTO;
 import com.jh.test.web.rest.errors.BadRequestAlertException;
+import com.jh.test.web.rest.util.CursorPaginationUtil;
+import com.jh.test.web.rest.util.ETagUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.jh.test.domain.AppUser}.
@@ -35,16 +51,20 @@ public class AppUserResource {
 
     private static final String ENTITY_NAME = "testjhAppUser";
 
+    private static final String SEARCH_CURSOR_SEPARATOR = ":";
+
+    private static final int BULK_MAX_SIZE = 10_000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final AppUserService appUserService;
 
-    private final AppUserRepository appUserRepository;
+    private final ObjectMapper objectMapper;
 
-    public AppUserResource(AppUserService appUserService, AppUserRepository appUserRepository) {
+    public AppUserResource(AppUserService appUserService, ObjectMapper objectMapper) {
         this.appUserService = appUserService;
-        this.appUserRepository = appUserRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -64,23 +84,86 @@ public class AppUserResource {
         return ResponseEntity
             .created(new URI("/api/app-users/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .eTag(eTag(result))
             .body(result);
     }
 
+    /**
+     * {@code POST  /app-users/bulk} : Create or update appUsers in bulk.
+     * <p>
+     * AppUsers without an id are created, the others are updated. Every item gets its own result, so invalid items do not
+     * prevent the others from being saved.
+     *
+     * @param appUserDTOs the appUserDTOs to create or update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every item, in order,
+     * or with status {@code 400 (Bad Request)} if there are more than {@value #BULK_MAX_SIZE} items.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSaveAppUsers(@RequestBody List<AppUserDTO> appUserDTOs) {
+        log.debug("REST request to save {} AppUsers in bulk", appUserDTOs.size());
+        checkBulkSize(appUserDTOs.size());
+        return ResponseEntity.ok(appUserService.saveAll(appUserDTOs));
+    }
+
+    /**
+     * {@code POST  /app-users/bulk} : Create or update appUsers in bulk, sent as newline delimited JSON.
+     * <p>
+     * The lines are read and saved a chunk at a time, so the appUsers of the chunks before an invalid line, or before the
+     * {@value #BULK_MAX_SIZE}th one, are already saved when the request fails.
+     *
+     * @param inputStream the appUserDTOs to create or update, one per line.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every item, in order,
+     * or with status {@code 400 (Bad Request)} if a line is not a valid appUserDTO or there are more than
+     * {@value #BULK_MAX_SIZE} items.
+     * @throws IOException if the request body could not be read.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSaveAppUsersNdjson(InputStream inputStream) throws IOException {
+        log.debug("REST request to save AppUsers in bulk as NDJSON");
+        int chunkSize = appUserService.getChunkSize();
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        List<AppUserDTO> chunk = new ArrayList<>(chunkSize);
+        try (MappingIterator<AppUserDTO> iterator = objectMapper.readerFor(AppUserDTO.class).readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                chunk.add(iterator.nextValue());
+                checkBulkSize(results.size() + chunk.size());
+                if (chunk.size() == chunkSize) {
+                    results.addAll(appUserService.saveAll(chunk, results.size()));
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestAlertException("Invalid appUser: " + e.getOriginalMessage(), ENTITY_NAME, "bulkinvalid");
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(appUserService.saveAll(chunk, results.size()));
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    private void checkBulkSize(int size) {
+        if (size > BULK_MAX_SIZE) {
+            throw new BadRequestAlertException("Too many appUsers, at most " + BULK_MAX_SIZE, ENTITY_NAME, "bulktoolarge");
+        }
+    }
+
     /**
      * {@code PUT  /app-users/:id} : Updates an existing appUser.
      *
      * @param id the id of the appUserDTO to save.
      * @param appUserDTO the appUserDTO to update.
+     * @param ifMatch the entity tag the appUser must still have, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated appUserDTO,
      * or with status {@code 400 (Bad Request)} if the appUserDTO is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the appUser no longer has the entity tag of {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the appUserDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<AppUserDTO> updateAppUser(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody AppUserDTO appUserDTO
+        @Valid @RequestBody AppUserDTO appUserDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update AppUser : {}, {}", id, appUserDTO);
         if (appUserDTO.getId() == null) {
@@ -90,14 +173,13 @@ public class AppUserResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!appUserRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        AppUserDTO result = appUserService.update(appUserDTO);
+        AppUserDTO result = appUserService
+            .update(appUserDTO, ifMatch == null ? null : current -> ETagUtil.ifMatch(ifMatch, eTag(current)))
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, appUserDTO.getId().toString()))
+            .eTag(eTag(result))
             .body(result);
     }
 
@@ -106,16 +188,18 @@ public class AppUserResource {
      *
      * @param id the id of the appUserDTO to save.
      * @param appUserDTO the appUserDTO to update.
+     * @param ifMatch the entity tag the appUser must still have, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated appUserDTO,
-     * or with status {@code 400 (Bad Request)} if the appUserDTO is not valid,
-     * or with status {@code 404 (Not Found)} if the appUserDTO is not found,
+     * or with status {@code 400 (Bad Request)} if the appUserDTO is not valid or not found,
+     * or with status {@code 412 (Precondition Failed)} if the appUser no longer has the entity tag of {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the appUserDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<AppUserDTO> partialUpdateAppUser(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody AppUserDTO appUserDTO
+        @NotNull @RequestBody AppUserDTO appUserDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update AppUser partially : {}, {}", id, appUserDTO);
         if (appUserDTO.getId() == null) {
@@ -125,16 +209,14 @@ public class AppUserResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!appUserRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<AppUserDTO> result = appUserService.partialUpdate(appUserDTO);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, appUserDTO.getId().toString())
-        );
+        AppUserDTO result = appUserService
+            .partialUpdate(appUserDTO, ifMatch == null ? null : current -> ETagUtil.ifMatch(ifMatch, eTag(current)))
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, appUserDTO.getId().toString()))
+            .eTag(eTag(result))
+            .body(result);
     }
 
     /**
@@ -151,17 +233,194 @@ public class AppUserResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /app-users?after=:cursor} : get a slice of the appUsers following a cursor, ordered by id.
+     * <p>
+     * Unlike the offset pagination, deep slices cost the same as the first one and the appUsers are not counted. The cursor of
+     * the next slice is returned in the {@code X-Next-Cursor} header, which is absent on the last slice.
+     *
+     * @param after the cursor returned with the previous slice, empty for the first slice.
+     * @param size the size of the slice.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appUsers in body, or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping(value = "", params = CursorPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<AppUserDTO>> getAllAppUsersAfter(
+        @RequestParam(CursorPaginationUtil.AFTER_PARAMETER) String after,
+        @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_PAGE_SIZE) int size
+    ) {
+        log.debug("REST request to get a slice of AppUsers after : {}", after);
+        Long afterId;
+        try {
+            afterId = CursorPaginationUtil.decodeCursor(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        Slice<AppUserDTO> slice = appUserService.findAllAfter(afterId, CursorPaginationUtil.pageSize(size));
+        HttpHeaders headers = CursorPaginationUtil.generateCursorPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            AppUserDTO::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /app-users/search} : search the appUsers, by exactly one of perfil, name prefix, lastname prefix or text
+     * contained in the name or lastname. Names are compared ignoring case.
+     *
+     * @param perfilId the id of the perfil of the appUsers.
+     * @param name the prefix of the name of the appUsers.
+     * @param lastname the prefix of the lastname of the appUsers.
+     * @param contains the text contained in the name or lastname of the appUsers.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appUsers in body, or with status {@code 400 (Bad Request)} if not exactly one criterion is given.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<AppUserDTO>> searchAppUsers(
+        @RequestParam(required = false) Long perfilId,
+        @RequestParam(required = false) String name,
+        @RequestParam(required = false) String lastname,
+        @RequestParam(required = false) String contains,
+        @org.springdoc.core.annotations.ParameterObject @PageableDefault(sort = "id") Pageable pageable
+    ) {
+        log.debug("REST request to search a page of AppUsers");
+        if (Stream.of(perfilId, name, lastname, contains).filter(Objects::nonNull).count() != 1) {
+            throw new BadRequestAlertException("Exactly one search criterion is required", ENTITY_NAME, "searchinvalid");
+        }
+        Page<AppUserDTO> page;
+        if (perfilId != null) {
+            page = appUserService.findAllByPerfil(perfilId, pageable);
+        } else if (name != null) {
+            page = appUserService.findAllByNameStartingWith(name, pageable);
+        } else if (lastname != null) {
+            page = appUserService.findAllByLastnameStartingWith(lastname, pageable);
+        } else {
+            page = appUserService.findAllByNameOrLastnameContaining(contains, pageable);
+        }
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /app-users/_search?q=:text} : full-text search of the appUsers by name, lastname and perfil name, as they
+     * are typed, by relevance.
+     * <p>
+     * The hits are paged with a cursor: the cursor of the next slice is returned in the {@code X-Next-Cursor} header, which
+     * is absent on the last slice.
+     *
+     * @param q the text typed.
+     * @param after the cursor returned with the previous slice, absent for the first slice.
+     * @param size the size of the slice.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of hits in body, or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<List<AppUserSearchHitDTO>> searchAppUsersFullText(
+        @RequestParam String q,
+        @RequestParam(name = CursorPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_PAGE_SIZE) int size
+    ) {
+        log.debug("REST request to search AppUsers : {}", q);
+        Float afterRank = null;
+        Long afterId = null;
+        try {
+            String key = CursorPaginationUtil.decodeCursorText(after);
+            if (key != null) {
+                int separator = key.indexOf(SEARCH_CURSOR_SEPARATOR);
+                afterRank = Float.valueOf(key.substring(0, separator));
+                afterId = Long.valueOf(key.substring(separator + 1));
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        Slice<AppUserSearchHitDTO> slice = appUserService.search(q, afterRank, afterId, CursorPaginationUtil.pageSize(size));
+        HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            hit -> CursorPaginationUtil.encodeCursor(hit.getRank() + SEARCH_CURSOR_SEPARATOR + hit.getId())
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /app-users/export} : export all the appUsers, ordered by id.
+     * <p>
+     * The appUsers are streamed from the database to the response, so any number of them can be exported.
+     *
+     * @param format the format of the export, {@code ndjson} (the default) or {@code csv}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the appUsers in body, or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAppUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        log.debug("REST request to export all AppUsers as {}", format);
+        return switch (format) {
+            case "ndjson" -> ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=app_users.ndjson")
+                .body(appUserService::exportNdjson);
+            case "csv" -> ResponseEntity
+                .ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=app_users.csv")
+                .body(appUserService::exportCsv);
+            default -> throw new BadRequestAlertException("Unsupported export format " + format, ENTITY_NAME, "formatinvalid");
+        };
+    }
+
     /**
      * {@code GET  /app-users/:id} : get the "id" appUser.
      *
+     * <p>
+     * When the {@code If-None-Match} header is sent, only the versions are read first, so an unchanged appUser is neither
+     * loaded nor serialized.
+     *
      * @param id the id of the appUserDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appUserDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags the client already has, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appUserDTO,
+     * or with status {@code 304 (Not Modified)} if the appUser still has one of the entity tags of {@code If-None-Match},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AppUserDTO> getAppUser(@PathVariable Long id) {
+    public ResponseEntity<AppUserDTO> getAppUser(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get AppUser : {}", id);
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = appUserService.findVersion(id).map(AppUserResource::eTag);
+            if (eTag.isPresent() && ETagUtil.ifNoneMatch(ifNoneMatch, eTag.orElseThrow())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.orElseThrow()).build();
+            }
+        }
         Optional<AppUserDTO> appUserDTO = appUserService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(appUserDTO);
+        return appUserDTO
+            .map(result -> ResponseEntity.ok().eTag(eTag(result)).body(result))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code DELETE  /app-users/bulk} : delete appUsers in bulk.
+     * <p>
+     * The appUsers are deleted with a single statement, without being loaded first. The ids not found are ignored.
+     *
+     * @param ids the ids of the appUsers to delete.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)} and the number of appUsers deleted in the alert header,
+     * or with status {@code 400 (Bad Request)} if an id is null or there are more than {@value #BULK_MAX_SIZE} ids.
+     */
+    @DeleteMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> bulkDeleteAppUsers(@RequestBody List<Long> ids) {
+        log.debug("REST request to delete {} AppUsers in bulk", ids.size());
+        if (ids.size() > BULK_MAX_SIZE) {
+            throw new BadRequestAlertException("Too many ids, at most " + BULK_MAX_SIZE, ENTITY_NAME, "bulktoolarge");
+        }
+        if (ids.contains(null)) {
+            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
+        }
+        int deleted = appUserService.deleteAll(ids);
+        return ResponseEntity
+            .noContent()
+            .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, String.valueOf(deleted)))
+            .build();
     }
 
     /**
@@ -179,4 +438,12 @@ public class AppUserResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private static String eTag(AppUserVersion appUserVersion) {
+        return ETagUtil.eTag(appUserVersion.version(), appUserVersion.perfilVersion());
+    }
+
+    private static String eTag(AppUserDTO appUserDTO) {
+        return ETagUtil.eTag(appUserDTO.getVersion(), appUserDTO.getPerfil() == null ? null : appUserDTO.getPerfil().getVersion());
+    }
 }
@@ -0,0 +1,71 @@
+package com.jh.test.web.rest;
+
+import com.jh.test.service.CsvImportException;
+import com.jh.test.service.CsvImportService;
+import com.jh.test.service.dto.ImportResultDTO;
+import com.jh.test.web.rest.errors.BadRequestAlertException;
+import java.io.InputStream;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller importing perfils and appUsers from CSV files.
+ * <p>
+ * The request body is the CSV file itself, in the {@code ;} separated format of the Liquibase fake data, and is streamed to
+ * the database as it is received.
+ */
+@RestController
+@RequestMapping("/api/admin/import")
+public class ImportResource {
+
+    private static final String ENTITY_NAME = "import";
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final Logger log = LoggerFactory.getLogger(ImportResource.class);
+
+    private final CsvImportService csvImportService;
+
+    public ImportResource(CsvImportService csvImportService) {
+        this.csvImportService = csvImportService;
+    }
+
+    /**
+     * {@code POST  /admin/import/perfils} : Import perfils from a CSV file.
+     *
+     * @param inputStream the CSV file, with an optional {@code id} and a {@code name} column.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of the import,
+     * or with status {@code 400 (Bad Request)} if the file could not be imported.
+     */
+    @PostMapping(value = "/perfils", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ImportResultDTO> importPerfils(InputStream inputStream) {
+        log.debug("REST request to import Perfils");
+        return importCsv(csvImportService::importPerfils, inputStream);
+    }
+
+    /**
+     * {@code POST  /admin/import/app-users} : Import appUsers from a CSV file.
+     *
+     * @param inputStream the CSV file, with an optional {@code id}, a {@code name}, a {@code lastname} and an optional
+     * {@code perfil_id} column.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of the import,
+     * or with status {@code 400 (Bad Request)} if the file could not be imported.
+     */
+    @PostMapping(value = "/app-users", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ImportResultDTO> importAppUsers(InputStream inputStream) {
+        log.debug("REST request to import AppUsers");
+        return importCsv(csvImportService::importAppUsers, inputStream);
+    }
+
+    private ResponseEntity<ImportResultDTO> importCsv(Function<InputStream, ImportResultDTO> importer, InputStream inputStream) {
+        try {
+            return ResponseEntity.ok(importer.apply(inputStream));
+        } catch (CsvImportException e) {
+            log.warn("CSV import failed: {}", e.getMessage());
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importfailed");
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package com.jh.test.web.rest;
 
-import com.jh.test.repository.PerfilRepository;
 import com.jh.test.service.PerfilService;
 import com.jh.test.service.dto.PerfilDTO;
 import com.jh.test.web.rest.errors.BadRequestAlertException;
+import com.jh.test.web.rest.util.CursorPaginationUtil;
+import com.jh.test.web.rest.util.ETagUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -16,13 +17,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.jh.test.domain.Perfil}.
@@ -35,16 +38,15 @@ public class PerfilResource {
 
     private static final String ENTITY_NAME = "testjhPerfil";
 
+    private static final int BULK_DELETE_MAX_SIZE = 10_000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final PerfilService perfilService;
 
-    private final PerfilRepository perfilRepository;
-
-    public PerfilResource(PerfilService perfilService, PerfilRepository perfilRepository) {
+    public PerfilResource(PerfilService perfilService) {
         this.perfilService = perfilService;
-        this.perfilRepository = perfilRepository;
     }
 
     /**
@@ -64,6 +66,7 @@ public class PerfilResource {
         return ResponseEntity
             .created(new URI("/api/perfils/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .eTag(ETagUtil.eTag(result.getVersion()))
             .body(result);
     }
 
@@ -72,15 +75,18 @@ public class PerfilResource {
      *
      * @param id the id of the perfilDTO to save.
      * @param perfilDTO the perfilDTO to update.
+     * @param ifMatch the entity tag the perfil must still have, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated perfilDTO,
      * or with status {@code 400 (Bad Request)} if the perfilDTO is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the perfil no longer has the entity tag of {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the perfilDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<PerfilDTO> updatePerfil(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody PerfilDTO perfilDTO
+        @Valid @RequestBody PerfilDTO perfilDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update Perfil : {}, {}", id, perfilDTO);
         if (perfilDTO.getId() == null) {
@@ -90,14 +96,13 @@ public class PerfilResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!perfilRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        PerfilDTO result = perfilService.update(perfilDTO);
+        PerfilDTO result = perfilService
+            .update(perfilDTO, version -> ETagUtil.ifMatch(ifMatch, ETagUtil.eTag(version)))
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, perfilDTO.getId().toString()))
+            .eTag(ETagUtil.eTag(result.getVersion()))
             .body(result);
     }
 
@@ -106,16 +111,18 @@ public class PerfilResource {
      *
      * @param id the id of the perfilDTO to save.
      * @param perfilDTO the perfilDTO to update.
+     * @param ifMatch the entity tag the perfil must still have, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated perfilDTO,
-     * or with status {@code 400 (Bad Request)} if the perfilDTO is not valid,
-     * or with status {@code 404 (Not Found)} if the perfilDTO is not found,
+     * or with status {@code 400 (Bad Request)} if the perfilDTO is not valid or not found,
+     * or with status {@code 412 (Precondition Failed)} if the perfil no longer has the entity tag of {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the perfilDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<PerfilDTO> partialUpdatePerfil(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody PerfilDTO perfilDTO
+        @NotNull @RequestBody PerfilDTO perfilDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update Perfil partially : {}, {}", id, perfilDTO);
         if (perfilDTO.getId() == null) {
@@ -125,16 +132,14 @@ public class PerfilResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!perfilRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<PerfilDTO> result = perfilService.partialUpdate(perfilDTO);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, perfilDTO.getId().toString())
-        );
+        PerfilDTO result = perfilService
+            .partialUpdate(perfilDTO, version -> ETagUtil.ifMatch(ifMatch, ETagUtil.eTag(version)))
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, perfilDTO.getId().toString()))
+            .eTag(ETagUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
@@ -151,17 +156,87 @@ public class PerfilResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /perfils?after=:cursor} : get a slice of the perfils following a cursor, ordered by id.
+     * <p>
+     * Unlike the offset pagination, deep slices cost the same as the first one and the perfils are not counted. The cursor of
+     * the next slice is returned in the {@code X-Next-Cursor} header, which is absent on the last slice.
+     *
+     * @param after the cursor returned with the previous slice, empty for the first slice.
+     * @param size the size of the slice.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of perfils in body, or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping(value = "", params = CursorPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<PerfilDTO>> getAllPerfilsAfter(
+        @RequestParam(CursorPaginationUtil.AFTER_PARAMETER) String after,
+        @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_PAGE_SIZE) int size
+    ) {
+        log.debug("REST request to get a slice of Perfils after : {}", after);
+        Long afterId;
+        try {
+            afterId = CursorPaginationUtil.decodeCursor(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        Slice<PerfilDTO> slice = perfilService.findAllAfter(afterId, CursorPaginationUtil.pageSize(size));
+        HttpHeaders headers = CursorPaginationUtil.generateCursorPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            PerfilDTO::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
     /**
      * {@code GET  /perfils/:id} : get the "id" perfil.
      *
      * @param id the id of the perfilDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the perfilDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags the client already has, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the perfilDTO,
+     * or with status {@code 304 (Not Modified)} if the perfil still has one of the entity tags of {@code If-None-Match},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<PerfilDTO> getPerfil(@PathVariable Long id) {
+    public ResponseEntity<PerfilDTO> getPerfil(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get Perfil : {}", id);
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = perfilService.findVersion(id).map(ETagUtil::eTag);
+            if (eTag.isPresent() && ETagUtil.ifNoneMatch(ifNoneMatch, eTag.orElseThrow())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.orElseThrow()).build();
+            }
+        }
         Optional<PerfilDTO> perfilDTO = perfilService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(perfilDTO);
+        return perfilDTO
+            .map(result -> ResponseEntity.ok().eTag(ETagUtil.eTag(result.getVersion())).body(result))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code DELETE  /perfils/bulk} : delete perfils in bulk.
+     * <p>
+     * The perfils are deleted with a single statement, without being loaded first. The ids not found are ignored.
+     *
+     * @param ids the ids of the perfils to delete.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)} and the number of perfils deleted in the alert header,
+     * or with status {@code 400 (Bad Request)} if an id is null or there are more than {@value #BULK_DELETE_MAX_SIZE} ids.
+     */
+    @DeleteMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> bulkDeletePerfils(@RequestBody List<Long> ids) {
+        log.debug("REST request to delete {} Perfils in bulk", ids.size());
+        if (ids.size() > BULK_DELETE_MAX_SIZE) {
+            throw new BadRequestAlertException("Too many ids, at most " + BULK_DELETE_MAX_SIZE, ENTITY_NAME, "bulktoolarge");
+        }
+        if (ids.contains(null)) {
+            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
+        }
+        int deleted = perfilService.deleteAll(ids);
+        return ResponseEntity
+            .noContent()
+            .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, String.valueOf(deleted)))
+            .build();
     }
 
     /**
@@ -1,21 +1,49 @@
 package com.jh.test.web.rest;
 
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.jh.test.service.FilledReport;
+import com.jh.test.service.FilledReportBundle;
+import com.jh.test.service.ReportFormat;
+import com.jh.test.service.ReportJobService;
+import com.jh.test.service.ReportQueueFullException;
 import com.jh.test.service.ReportService;
+import com.jh.test.service.dto.ReportJobDTO;
+import com.jh.test.web.rest.errors.BadRequestAlertException;
 
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing reports.
  * This controller provides endpoints to generate and retrieve reports in
  * different formats like PDF, Excel, and Word.
+ * <p>
+ * The {@code /download/{format}} endpoint streams the binary document and
+ * should be preferred; the Base64 endpoints are kept for compatibility.
+ * Large reports can be generated in the background through the {@code /jobs}
+ * endpoints.
  */
 @RestController
 @RequestMapping("/api/report")
@@ -30,14 +58,18 @@ public class ReportResource {
 
     private final ReportService reportService;
 
-    public ReportResource(ReportService reportService) {
+    private final ReportJobService reportJobService;
+
+    public ReportResource(ReportService reportService, ReportJobService reportJobService) {
         this.reportService = reportService;
+        this.reportJobService = reportJobService;
     }
 
     /**
      * {@code GET  /report/pdf} : Generate and get a report in PDF format.
      * This endpoint generates a report based on data and returns it in PDF format
      * encoded in Base64.
+     * Kept for compatibility, prefer {@code GET /report/download/pdf}.
      *
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with the
      *         PDF report data,
@@ -67,6 +99,7 @@ public class ReportResource {
      * {@code GET  /report/excel} : Generate and get a report in Excel format.
      * This endpoint generates a report based on data and returns it in Excel format
      * encoded in Base64.
+     * Kept for compatibility, prefer {@code GET /report/download/excel}.
      *
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with the
      *         Excel report data,
@@ -96,6 +129,7 @@ public class ReportResource {
      * {@code GET  /report/word} : Generate and get a report in Word format.
      * This endpoint generates a report based on data and returns it in Word format
      * encoded in Base64.
+     * Kept for compatibility, prefer {@code GET /report/download/word}.
      *
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with the
      *         Word report data,
@@ -119,4 +153,194 @@ public class ReportResource {
                     .build();
         }
     }
+
+    /**
+     * {@code GET  /report/download/:format} : Generate and download a report.
+     * The report is filled before the response starts, then the exporter writes
+     * the document straight to the response body. A document already generated
+     * from the current data is served from the cache.
+     *
+     * @param format the report format: {@code pdf}, {@code excel} or
+     *               {@code word}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+     *         report document as an attachment,
+     *         or with status {@code 400 (Bad Request)} if the format is unknown,
+     *         or with status {@code 500 (Internal Server Error)} if there was an
+     *         error generating the report.
+     */
+    @GetMapping("/download/{format}")
+    public ResponseEntity<StreamingResponseBody> downloadReport(@PathVariable String format) {
+        log.debug("REST request to download a {} report", format);
+        ReportFormat reportFormat = ReportFormat.fromValue(format)
+                .orElseThrow(() -> new BadRequestAlertException("Unknown report format", ENTITY_NAME, "formatinvalid"));
+        StreamingResponseBody body;
+        Optional<byte[]> cached = reportService.findCachedReport(reportFormat);
+        if (cached.isPresent()) {
+            byte[] document = cached.get();
+            body = outputStream -> outputStream.write(document);
+        } else {
+            FilledReport filledReport;
+            try {
+                filledReport = reportService.fillReport(reportFormat);
+            } catch (Exception e) {
+                log.error("REST request to download a {} report failed: {}", format, e.getMessage());
+                return ResponseEntity.internalServerError()
+                        .headers(HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME,
+                                reportFormat.getValue() + "ReportNotGenerated",
+                                "There was an error generating the report"))
+                        .build();
+            }
+            body = outputStream -> {
+                try (filledReport) {
+                    reportService.exportReport(reportFormat, filledReport, outputStream);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Could not export the " + format + " report", e);
+                }
+            };
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(reportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment()
+                                .filename(ReportService.USER_LIST_TEMPLATE + "." + reportFormat.getExtension())
+                                .build()
+                                .toString())
+                .body(body);
+    }
+
+    /**
+     * {@code GET  /report/bundle} : Generate a report once and download it in
+     * several formats.
+     * The report is filled once per template, then exported to every requested
+     * format in parallel; the documents are sent as a ZIP archive, each one
+     * matching the document downloaded on its own in the same format.
+     *
+     * @param formats the report formats: {@code pdf}, {@code excel} and/or
+     *                {@code word}, all of them by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+     *         ZIP archive as an attachment,
+     *         or with status {@code 400 (Bad Request)} if a format is unknown,
+     *         or with status {@code 500 (Internal Server Error)} if there was an
+     *         error generating the report.
+     */
+    @GetMapping("/bundle")
+    public ResponseEntity<StreamingResponseBody> downloadReportBundle(
+            @RequestParam(required = false) List<String> formats) {
+        log.debug("REST request to download a report bundle : {}", formats);
+        List<ReportFormat> reportFormats = formats == null || formats.isEmpty()
+                ? List.of(ReportFormat.values())
+                : formats.stream()
+                        .map(format -> ReportFormat.fromValue(format)
+                                .orElseThrow(() -> new BadRequestAlertException("Unknown report format", ENTITY_NAME,
+                                        "formatinvalid")))
+                        .distinct()
+                        .toList();
+        FilledReportBundle filledReports;
+        try {
+            filledReports = reportService.fillBundleReports(reportFormats);
+        } catch (Exception e) {
+            log.error("REST request to download a report bundle failed: {}", e.getMessage());
+            return ResponseEntity.internalServerError()
+                    .headers(HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "reportBundleNotGenerated",
+                            "There was an error generating the report"))
+                    .build();
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (filledReports) {
+                reportService.exportReports(filledReports, reportFormats, outputStream);
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not export the report bundle", e);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment()
+                                .filename(ReportService.USER_LIST_TEMPLATE + ".zip")
+                                .build()
+                                .toString())
+                .body(body);
+    }
+
+    /**
+     * {@code POST  /report/jobs} : Queue the generation of a report.
+     * The report is generated in the background; poll the returned job until it
+     * is completed, then download its document.
+     *
+     * @param format the report format: {@code pdf}, {@code excel} or
+     *               {@code word}.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and
+     *         with body the queued job,
+     *         or with status {@code 400 (Bad Request)} if the format is unknown,
+     *         or with status {@code 429 (Too Many Requests)} if the queue is full.
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ReportJobDTO> createReportJob(@RequestParam String format) {
+        log.debug("REST request to queue a {} report job", format);
+        ReportFormat reportFormat = ReportFormat.fromValue(format)
+                .orElseThrow(() -> new BadRequestAlertException("Unknown report format", ENTITY_NAME, "formatinvalid"));
+        try {
+            ReportJobDTO result = reportJobService.submit(reportFormat);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/report/jobs/" + result.getId()))
+                    .body(result);
+        } catch (ReportQueueFullException e) {
+            log.warn("REST request to queue a {} report job rejected: {}", format, e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .headers(HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "reportQueueFull",
+                            "Too many reports are being generated, try again later"))
+                    .build();
+        }
+    }
+
+    /**
+     * {@code GET  /report/jobs/:id} : Get the status of a report job.
+     *
+     * @param id the id of the report job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with
+     *         body the job,
+     *         or with status {@code 404 (Not Found)} if the job does not exist or
+     *         has expired.
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ReportJobDTO> getReportJob(@PathVariable String id) {
+        log.debug("REST request to get report job : {}", id);
+        return ResponseUtil.wrapOrNotFound(reportJobService.findOne(id));
+    }
+
+    /**
+     * {@code GET  /report/jobs/:id/file} : Download the document of a completed
+     * report job.
+     *
+     * @param id the id of the report job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+     *         report document as an attachment,
+     *         or with status {@code 404 (Not Found)} if the job does not exist or
+     *         has expired,
+     *         or with status {@code 409 (Conflict)} if the job is not completed.
+     */
+    @GetMapping("/jobs/{id}/file")
+    public ResponseEntity<Resource> getReportJobFile(@PathVariable String id) {
+        log.debug("REST request to download the document of report job : {}", id);
+        ReportJobDTO job = reportJobService.findOne(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Path file = reportJobService.findFile(id).orElse(null);
+        if (file == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .headers(HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "reportNotReady",
+                            "The report is " + job.getStatus().name().toLowerCase()))
+                    .build();
+        }
+        ReportFormat reportFormat = ReportFormat.fromValue(job.getFormat()).orElseThrow();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(reportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment()
+                                .filename(ReportService.USER_LIST_TEMPLATE + "." + reportFormat.getExtension())
+                                .build()
+                                .toString())
+                .body(new FileSystemResource(file));
+    }
 }
@@ -0,0 +1,140 @@
+package com.jh.test.web.rest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor based) pagination.
+ * <p>
+ * A page is requested with {@code ?after=<cursor>&size=<size>}, an empty cursor requesting the first page. The cursor of the
+ * next page is returned in the {@link #HEADER_NEXT_CURSOR} header and as a {@code next} link, and no count is ever made.
+ * Cursors are opaque to the clients: they encode the key of the last element of the page.
+ */
+public final class CursorPaginationUtil {
+
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+
+    public static final String AFTER_PARAMETER = "after";
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    public static final int MAX_PAGE_SIZE = 2000;
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private CursorPaginationUtil() {}
+
+    /**
+     * Encode the key of the last element of a page as a cursor.
+     *
+     * @param key the key.
+     * @return the cursor.
+     */
+    public static String encodeCursor(Long key) {
+        return encodeCursor(key.toString());
+    }
+
+    /**
+     * Encode the key of the last element of a page as a cursor, for keys made of several values.
+     *
+     * @param key the key, as text.
+     * @return the cursor.
+     */
+    public static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor.
+     *
+     * @param cursor the cursor, empty for the first page.
+     * @return the key the page starts after, {@code null} for the first page.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    public static Long decodeCursor(String cursor) {
+        String key = decodeCursorText(cursor);
+        if (key == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Decode a cursor encoded with {@link #encodeCursor(String)}.
+     *
+     * @param cursor the cursor, empty for the first page.
+     * @return the key the page starts after, as text, {@code null} for the first page.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    public static String decodeCursorText(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Bound the requested page size, like the offset based pagination does.
+     *
+     * @param size the requested page size.
+     * @return the page size to use.
+     */
+    public static int pageSize(int size) {
+        return size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Generate the keyset pagination headers of a {@link Slice}.
+     *
+     * @param uriBuilder the uri builder of the current request.
+     * @param slice the slice.
+     * @param keyExtractor the function returning the key of an element.
+     * @param <T> the type of the elements.
+     * @return the http headers, without any when the slice is the last one.
+     */
+    public static <T> HttpHeaders generateCursorPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        Slice<T> slice,
+        Function<T, Long> keyExtractor
+    ) {
+        return generateCursorHttpHeaders(uriBuilder, slice, element -> encodeCursor(keyExtractor.apply(element)));
+    }
+
+    /**
+     * Generate the keyset pagination headers of a {@link Slice}, for keys made of several values.
+     *
+     * @param uriBuilder the uri builder of the current request.
+     * @param slice the slice.
+     * @param cursorExtractor the function returning the cursor following an element.
+     * @param <T> the type of the elements.
+     * @return the http headers, without any when the slice is the last one.
+     */
+    public static <T> HttpHeaders generateCursorHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice, Function<T, String> cursorExtractor) {
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            List<T> content = slice.getContent();
+            String nextCursor = cursorExtractor.apply(content.get(content.size() - 1));
+            headers.add(HEADER_NEXT_CURSOR, nextCursor);
+            String nextUri = uriBuilder
+                .replaceQueryParam(AFTER_PARAMETER, nextCursor)
+                .replaceQueryParam("size", slice.getSize())
+                .toUriString();
+            headers.add(HttpHeaders.LINK, MessageFormat.format(HEADER_LINK_FORMAT, nextUri, "next"));
+        }
+        return headers;
+    }
+}
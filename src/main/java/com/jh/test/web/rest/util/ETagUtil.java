@@ -0,0 +1,71 @@
+package com.jh.test.web.rest.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for handling entity tags and the conditional requests using them.
+ * <p>
+ * Entity tags are strong and derived from the versions of the entities making up a representation, like {@code "3"} or
+ * {@code "3.1"}, so they change whenever one of these entities changes.
+ */
+public final class ETagUtil {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private static final String ANY = "*";
+
+    private ETagUtil() {}
+
+    /**
+     * Build the entity tag of a representation.
+     *
+     * @param versions the versions of the entities making up the representation, {@code null} for an absent entity.
+     * @return the quoted entity tag.
+     */
+    public static String eTag(Long... versions) {
+        return Arrays.stream(versions).filter(Objects::nonNull).map(String::valueOf).collect(Collectors.joining(".", "\"", "\""));
+    }
+
+    /**
+     * Check an {@code If-Match} header, with the strong comparison: weak tags never match.
+     *
+     * @param ifMatch the value of the header, {@code null} if absent.
+     * @param eTag the entity tag of the current representation.
+     * @return true if the header is absent or matches the tag.
+     */
+    public static boolean ifMatch(String ifMatch, String eTag) {
+        return ifMatch == null || matches(ifMatch, eTag, false);
+    }
+
+    /**
+     * Check an {@code If-None-Match} header, with the weak comparison.
+     *
+     * @param ifNoneMatch the value of the header, {@code null} if absent.
+     * @param eTag the entity tag of the current representation.
+     * @return true if the header is present and matches the tag, so the representation has not been modified.
+     */
+    public static boolean ifNoneMatch(String ifNoneMatch, String eTag) {
+        return ifNoneMatch != null && matches(ifNoneMatch, eTag, true);
+    }
+
+    private static boolean matches(String header, String eTag, boolean weak) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals(ANY)) {
+                return true;
+            }
+            if (tag.startsWith(WEAK_PREFIX)) {
+                if (!weak) {
+                    continue;
+                }
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
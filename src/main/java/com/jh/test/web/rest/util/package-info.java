@@ -0,0 +1,4 @@
+/**
+ * Rest layer utilities.
+ */
+package com.jh.test.web.rest.util;
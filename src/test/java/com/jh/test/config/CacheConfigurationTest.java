@@ -0,0 +1,86 @@
+package com.jh.test.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.jh.test.domain.AppUser;
+import com.jh.test.domain.Perfil;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.spi.RegionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getCaffeine().setMaxEntries(100);
+        jHipsterProperties.getCache().getCaffeine().setTimeToLiveSeconds(3600);
+        applicationProperties = new ApplicationProperties();
+        cacheManager = Caching
+            .getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create(CacheConfigurationTest.class.getName()), CacheConfigurationTest.class.getClassLoader());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void regionsUseTheJHipsterSettingsByDefault() {
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        CaffeineConfiguration<?, ?> configuration = configurationOf(AppUser.class.getName());
+        assertThat(configuration.getMaximumSize()).isEqualTo(OptionalLong.of(100));
+        assertThat(configuration.getExpireAfterWrite()).isEqualTo(OptionalLong.of(TimeUnit.HOURS.toNanos(1)));
+        assertThat(configuration.isStatisticsEnabled()).isTrue();
+    }
+
+    @Test
+    void regionSettingsCanBeOverridden() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setTimeToLiveSeconds(60L);
+        applicationProperties.getCache().getRegions().put(Perfil.class.getName(), region);
+
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        CaffeineConfiguration<?, ?> configuration = configurationOf(Perfil.class.getName());
+        assertThat(configuration.getMaximumSize()).isEqualTo(OptionalLong.of(100));
+        assertThat(configuration.getExpireAfterWrite()).isEqualTo(OptionalLong.of(TimeUnit.MINUTES.toNanos(1)));
+        assertThat(configurationOf(AppUser.class.getName()).getExpireAfterWrite()).isEqualTo(OptionalLong.of(TimeUnit.HOURS.toNanos(1)));
+    }
+
+    @Test
+    void queryCacheTimestampsAreNeverEvicted() {
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        assertThat(cacheManager.getCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)).isNotNull();
+        CaffeineConfiguration<?, ?> configuration = configurationOf(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+        assertThat(configuration.getMaximumSize()).isEmpty();
+        assertThat(configuration.getMaximumWeight()).isEmpty();
+        assertThat(configuration.getExpireAfterWrite()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> configurationOf(String cacheName) {
+        return cacheManager.getCache(cacheName).getConfiguration(CaffeineConfiguration.class);
+    }
+}
@@ -0,0 +1,44 @@
+package com.jh.test.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.output.Slf4jLogConsumer;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+public class MongoTestContainer implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoTestContainer.class);
+
+    private static final int MONGO_PORT = 27017;
+
+    private GenericContainer<?> mongoContainer;
+
+    @Override
+    public void destroy() {
+        if (null != mongoContainer && mongoContainer.isRunning()) {
+            mongoContainer.stop();
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (null == mongoContainer) {
+            mongoContainer =
+                new GenericContainer<>("mongo:7.0")
+                    .withExposedPorts(MONGO_PORT)
+                    .waitingFor(Wait.forLogMessage("(?i).*waiting for connections.*", 1))
+                    .withLogConsumer(new Slf4jLogConsumer(log))
+                    .withReuse(true);
+        }
+        if (!mongoContainer.isRunning()) {
+            mongoContainer.start();
+        }
+    }
+
+    public String getConnectionString() {
+        return "mongodb://" + mongoContainer.getHost() + ":" + mongoContainer.getMappedPort(MONGO_PORT) + "/testjh";
+    }
+}
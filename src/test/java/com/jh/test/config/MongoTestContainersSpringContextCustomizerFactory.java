@@ -0,0 +1,45 @@
+package com.jh.test.config;
+
+import com.jh.test.repository.RecordingCommandListener;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.test.context.ContextConfigurationAttributes;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.ContextCustomizerFactory;
+
+public class MongoTestContainersSpringContextCustomizerFactory implements ContextCustomizerFactory {
+
+    private Logger log = LoggerFactory.getLogger(MongoTestContainersSpringContextCustomizerFactory.class);
+
+    private static MongoTestContainer mongoTestContainer;
+
+    @Override
+    public ContextCustomizer createContextCustomizer(Class<?> testClass, List<ContextConfigurationAttributes> configAttributes) {
+        return (context, mergedConfig) -> {
+            ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+            TestPropertyValues testValues = TestPropertyValues.empty();
+            EmbeddedMongo mongoAnnotation = AnnotatedElementUtils.findMergedAnnotation(testClass, EmbeddedMongo.class);
+            if (null != mongoAnnotation) {
+                log.debug("detected the EmbeddedMongo annotation on class {}", testClass.getName());
+                log.info("Warming up the mongo database");
+                if (null == mongoTestContainer) {
+                    mongoTestContainer = beanFactory.createBean(MongoTestContainer.class);
+                    beanFactory.registerSingleton(MongoTestContainer.class.getName(), mongoTestContainer);
+                }
+                // Lets the tests count the commands sent to MongoDB
+                MongoClientSettingsBuilderCustomizer commandListener = settings -> settings.addCommandListener(new RecordingCommandListener());
+                beanFactory.registerSingleton(RecordingCommandListener.class.getName(), commandListener);
+                testValues =
+                    testValues
+                        .and("spring.data.mongodb.uri=" + mongoTestContainer.getConnectionString())
+                        .and("application.animales.ensure-indexes=true");
+            }
+            testValues.applyTo(context);
+        };
+    }
+}
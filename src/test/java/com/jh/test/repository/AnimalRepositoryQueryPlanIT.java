@@ -0,0 +1,183 @@
+package com.jh.test.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jh.test.IntegrationTest;
+import com.jh.test.config.EmbeddedMongo;
+import com.jh.test.domain.Animal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Integration tests checking, with {@code explain}, that the {@link AnimalRepository} queries are served by the indexes of
+ * {@link AnimalIndexInitializer} rather than by a scan of a large {@code animales} collection.
+ */
+@IntegrationTest
+@EmbeddedMongo
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AnimalRepositoryQueryPlanIT {
+
+    private static final int ANIMAL_COUNT = 20_000;
+
+    private static final int ESPECIE_COUNT = 50;
+
+    private static final Pageable PAGEABLE = PageRequest.of(0, 20);
+
+    private static final Pageable BY_ID = PageRequest.of(0, 20, Sort.by("id"));
+
+    private static final String FIRST_ID = "000000000000000000000000";
+
+    // The fields of a command describing the query, the others being about the session or the connection
+    private static final Set<String> QUERY_FIELDS = Set.of("find", "filter", "sort", "limit", "skip", "collation", "aggregate", "pipeline");
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    void initData() {
+        List<Animal> animales = new ArrayList<>();
+        for (int i = 0; i < ANIMAL_COUNT; i++) {
+            Animal animal = new Animal();
+            animal.setNombre("nombre" + i);
+            animal.setEspecie("especie" + i % ESPECIE_COUNT);
+            animales.add(animal);
+        }
+        mongoTemplate.insertAll(animales);
+    }
+
+    @AfterAll
+    void cleanup() {
+        animalRepository.deleteAll();
+    }
+
+    @Test
+    void findByEspecieUsesAnIndex() {
+        assertNoCollectionScan(() -> animalRepository.findByEspecie("especie1", PAGEABLE), false);
+    }
+
+    @Test
+    void findByNombreUsesAnIndex() {
+        assertNoCollectionScan(() -> animalRepository.findByNombre("nombre1", PAGEABLE), false);
+    }
+
+    @Test
+    void findByEspecieAndNombreUsesAnIndex() {
+        assertNoCollectionScan(() -> animalRepository.findByEspecieAndNombre("especie1", "nombre1", PAGEABLE), false);
+    }
+
+    @Test
+    void findByIdGreaterThanUsesAnIndex() {
+        assertNoCollectionScan(() -> animalRepository.findByIdGreaterThan(FIRST_ID, BY_ID), true);
+    }
+
+    @Test
+    void findByEspecieAndIdGreaterThanUsesAnIndex() {
+        assertNoCollectionScan(() -> animalRepository.findByEspecieAndIdGreaterThan("especie1", FIRST_ID, BY_ID), true);
+    }
+
+    @Test
+    void findByNombreAndIdGreaterThanUsesAnIndex() {
+        assertNoCollectionScan(() -> animalRepository.findByNombreAndIdGreaterThan("nombre1", FIRST_ID, BY_ID), true);
+    }
+
+    @Test
+    void findByEspecieAndNombreAndIdGreaterThanUsesAnIndex() {
+        assertNoCollectionScan(
+            () -> animalRepository.findByEspecieAndNombreAndIdGreaterThan("especie1", "nombre1", FIRST_ID, BY_ID),
+            true
+        );
+    }
+
+    @Test
+    void streamAllUsesAnIndex() {
+        assertNoCollectionScan(() -> streamAll("especie1", null), true);
+        assertNoCollectionScan(() -> streamAll(null, "nombre1"), true);
+        assertNoCollectionScan(() -> streamAll("especie1", "nombre1"), true);
+    }
+
+    @Test
+    void countByEspecieUsesAnIndex() {
+        assertNoCollectionScan(() -> animalRepository.countByEspecie(5), false);
+    }
+
+    private void streamAll(String especie, String nombre) {
+        try (Stream<Animal> animales = animalRepository.streamAll(especie, nombre, 100)) {
+            animales.forEach(animal -> {});
+        }
+    }
+
+    /**
+     * Run the query, then explain every query command it sent; with {@code ordered}, the results must also be read in index
+     * order, without a sort stage.
+     */
+    private void assertNoCollectionScan(Runnable query, boolean ordered) {
+        RecordingCommandListener.start();
+        try {
+            query.run();
+        } finally {
+            RecordingCommandListener.stop();
+        }
+
+        List<BsonDocument> commands = RecordingCommandListener
+            .documents()
+            .stream()
+            .filter(command -> command.containsKey("find") || command.containsKey("aggregate"))
+            .toList();
+        assertThat(commands).isNotEmpty();
+        for (BsonDocument command : commands) {
+            BsonDocument explained = new BsonDocument();
+            command.forEach((field, value) -> {
+                if (QUERY_FIELDS.contains(field)) {
+                    explained.put(field, value);
+                }
+            });
+            if (explained.containsKey("aggregate")) {
+                explained.put("cursor", new BsonDocument());
+            }
+            Document plan = mongoTemplate
+                .getDb()
+                .runCommand(new BsonDocument("explain", explained).append("verbosity", new BsonString("queryPlanner")));
+            String winningPlan = winningPlans(plan).toString();
+            assertThat(winningPlan).as("plan of %s", explained).contains("IXSCAN").doesNotContain("COLLSCAN");
+            if (ordered && explained.containsKey("sort")) {
+                assertThat(winningPlan).as("plan of %s", explained).doesNotContain("\"stage\": \"SORT\"");
+            }
+        }
+    }
+
+    /**
+     * The winning plans of an explained command, wherever the command puts them, as the rejected plans may well scan or sort.
+     */
+    private List<Object> winningPlans(Object explained) {
+        List<Object> plans = new ArrayList<>();
+        if (explained instanceof Document document) {
+            document.forEach((field, value) -> {
+                if (field.equals("winningPlan")) {
+                    plans.add(value instanceof Document plan ? plan.toJson() : value);
+                } else if (!field.equals("rejectedPlans")) {
+                    plans.addAll(winningPlans(value));
+                }
+            });
+        } else if (explained instanceof List<?> list) {
+            list.forEach(element -> plans.addAll(winningPlans(element)));
+        }
+        return plans;
+    }
+}
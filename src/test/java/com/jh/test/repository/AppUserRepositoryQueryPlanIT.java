@@ -0,0 +1,128 @@
+package com.jh.test.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jh.test.IntegrationTest;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests checking, with {@code EXPLAIN}, that the {@link AppUserRepository} lookups are served by indexes
+ * rather than by a sequential scan of a large {@code app_user} table.
+ */
+@IntegrationTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AppUserRepositoryQueryPlanIT {
+
+    private static final int USER_COUNT = 200_000;
+
+    private static final int PERFIL_COUNT = 1_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final Pageable PAGEABLE = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void initData() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Negative ids never collide with the ones handed out by the sequences
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into perfil (id, name) select -i, 'perfil' || i from generate_series(1, ?) i", PERFIL_COUNT);
+            jdbcTemplate.update(
+                "insert into app_user (id, name, lastname, perfil_id)" +
+                " select -i, md5(i::text), md5((i * 7)::text), -(i % ? + 1) from generate_series(1, ?) i",
+                PERFIL_COUNT,
+                USER_COUNT
+            );
+            jdbcTemplate.execute("analyze perfil");
+            jdbcTemplate.execute("analyze app_user");
+        });
+    }
+
+    @AfterAll
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from app_user where id < 0");
+            jdbcTemplate.update("delete from perfil where id < 0");
+        });
+    }
+
+    @Test
+    void findAllSummariesByPerfilIdUsesAnIndex() {
+        assertNoSequentialScan(() -> appUserRepository.findAllSummariesByPerfilId(-1L, PAGEABLE), -1L);
+    }
+
+    @Test
+    void findAllSummariesByNameLikeAPrefixUsesAnIndex() {
+        assertNoSequentialScan(() -> appUserRepository.findAllSummariesByNameLike("abc%", PAGEABLE), "abc%");
+    }
+
+    @Test
+    void findAllSummariesByLastnameLikeAPrefixUsesAnIndex() {
+        assertNoSequentialScan(() -> appUserRepository.findAllSummariesByLastnameLike("abc%", PAGEABLE), "abc%");
+    }
+
+    @Test
+    void findAllSummariesByNameOrLastnameLikeAContainedTextUsesAnIndex() {
+        assertNoSequentialScan(() -> appUserRepository.findAllSummariesByNameOrLastnameLike("%abcd%", PAGEABLE), "%abcd%");
+    }
+
+    @Test
+    void findNextSummariesUsesAnIndex() {
+        assertNoSequentialScan(() -> appUserRepository.findNextSummaries(-1_000L, PageRequest.of(0, PAGE_SIZE)), -1_000L);
+    }
+
+    @Test
+    void findOneWithToOneRelationshipsUsesAnIndex() {
+        assertNoSequentialScan(() -> appUserRepository.findOneWithToOneRelationships(-1L), -1L);
+    }
+
+    /**
+     * Run the query, then explain every statement it prepared, with the pagination parameters bound to the page and every
+     * other parameter bound to the given value.
+     */
+    private void assertNoSequentialScan(Runnable query, Object value) {
+        RecordingStatementInspector.start();
+        List<String> statements;
+        try {
+            transactionTemplate.executeWithoutResult(status -> query.run());
+        } finally {
+            statements = RecordingStatementInspector.stop();
+        }
+
+        assertThat(statements).isNotEmpty();
+        for (String statement : statements) {
+            String sql = statement
+                .replace("offset ? rows", "offset 0 rows")
+                .replace("fetch first ? rows", "fetch first " + PAGE_SIZE + " rows")
+                .replace("?", literal(value));
+            List<String> plan = transactionTemplate.execute(status -> jdbcTemplate.queryForList("explain " + sql, String.class));
+            assertThat(String.join("\n", plan)).as("plan of %s", sql).doesNotContain("Seq Scan on app_user");
+        }
+    }
+
+    private String literal(Object value) {
+        return value instanceof String string ? "'" + string.replace("'", "''") + "'" : value.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.jh.test.repository;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.bson.BsonDocument;
+
+/**
+ * Records the names of the commands sent to MongoDB between {@link #start()} and {@link #stop()}, leaving out the ones the
+ * driver sends on its own. The commands themselves are kept until the next {@link #start()}, see {@link #documents()}.
+ */
+public class RecordingCommandListener implements CommandListener {
+
+    private static final Set<String> DRIVER_COMMANDS = Set.of("hello", "ismaster", "isMaster", "ping", "buildInfo", "endSessions");
+
+    private static final List<String> commands = new CopyOnWriteArrayList<>();
+
+    private static final List<BsonDocument> documents = new CopyOnWriteArrayList<>();
+
+    private static volatile boolean recording;
+
+    public static void start() {
+        commands.clear();
+        documents.clear();
+        recording = true;
+    }
+
+    public static List<String> stop() {
+        recording = false;
+        return new ArrayList<>(commands);
+    }
+
+    public static List<BsonDocument> documents() {
+        return new ArrayList<>(documents);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (recording && !DRIVER_COMMANDS.contains(event.getCommandName())) {
+            commands.add(event.getCommandName());
+            // Copied, as the driver releases the command once sent
+            documents.add(event.getCommand().clone());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.jh.test.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL statements prepared by Hibernate between {@link #start()} and {@link #stop()}.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    private static volatile boolean recording;
+
+    public static void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    public static List<String> stop() {
+        recording = false;
+        return new ArrayList<>(statements);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (recording) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
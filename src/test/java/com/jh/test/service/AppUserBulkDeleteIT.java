@@ -0,0 +1,79 @@
+package com.jh.test.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jh.test.IntegrationTest;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link AppUserService} bulk delete, comparing its throughput with deleting the appUsers one by one.
+ */
+@IntegrationTest
+class AppUserBulkDeleteIT {
+
+    private static final int USER_COUNT = 2_000;
+
+    private static final int MIN_SPEEDUP = 5;
+
+    private final Logger log = LoggerFactory.getLogger(AppUserBulkDeleteIT.class);
+
+    @Autowired
+    private AppUserService appUserService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void cleanup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbcTemplate.update("delete from app_user where id < 0")
+        );
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void bulkDeleteIsFasterThanDeletingOneByOne() {
+        // Negative ids never collide with the ones handed out by the sequences
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbcTemplate.update(
+                "insert into app_user (id, name, lastname) select -i, 'name' || i, 'lastname' || i from generate_series(1, ?) i",
+                2 * USER_COUNT
+            )
+        );
+        List<Long> oneByOneIds = LongStream.rangeClosed(1, USER_COUNT).map(i -> -i).boxed().toList();
+        List<Long> bulkIds = LongStream.rangeClosed(USER_COUNT + 1, 2 * USER_COUNT).map(i -> -i).boxed().toList();
+
+        // Every delete in its own transaction, as the DELETE /api/app-users/:id requests do
+        long start = System.nanoTime();
+        oneByOneIds.forEach(appUserService::delete);
+        long oneByOneNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int deleted = appUserService.deleteAll(bulkIds);
+        long bulkNanos = System.nanoTime() - start;
+
+        assertThat(deleted).isEqualTo(USER_COUNT);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from app_user where id < 0", Long.class)).isZero();
+        log.info(
+            "Deleted {} appUsers one by one at {} per second, and in bulk at {} per second",
+            USER_COUNT,
+            USER_COUNT * TimeUnit.SECONDS.toNanos(1) / oneByOneNanos,
+            USER_COUNT * TimeUnit.SECONDS.toNanos(1) / Math.max(bulkNanos, 1)
+        );
+        assertThat(oneByOneNanos).isGreaterThan(MIN_SPEEDUP * bulkNanos);
+    }
+}
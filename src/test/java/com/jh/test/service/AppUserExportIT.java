@@ -0,0 +1,110 @@
+package com.jh.test.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jh.test.IntegrationTest;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link AppUserService} export, checking that the heap used does not grow with the number of
+ * appUsers exported.
+ */
+@IntegrationTest
+class AppUserExportIT {
+
+    private static final int USER_COUNT = 1_000_000;
+
+    private static final int SAMPLE_INTERVAL = 100_000;
+
+    private static final long MAX_HEAP_GROWTH = 32 * 1024 * 1024;
+
+    private final Logger log = LoggerFactory.getLogger(AppUserExportIT.class);
+
+    @Autowired
+    private AppUserService appUserService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void initTest() {
+        // Negative ids never collide with the ones handed out by the sequence
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbcTemplate.update(
+                "insert into app_user (id, name, lastname) select -i, 'name' || i, 'lastname' || i from generate_series(1, ?) i",
+                USER_COUNT
+            )
+        );
+    }
+
+    @AfterEach
+    public void cleanup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.update("delete from app_user where id < 0"));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void exportingAMillionAppUsersUsesAConstantHeap() throws Exception {
+        HeapSamplingOutputStream outputStream = new HeapSamplingOutputStream();
+
+        long start = System.nanoTime();
+        long count = appUserService.exportNdjson(outputStream);
+        long elapsed = System.nanoTime() - start;
+
+        log.info(
+            "Exported {} appUsers, {} bytes, in {} ms, heap grew by at most {} bytes",
+            count,
+            outputStream.bytes,
+            TimeUnit.NANOSECONDS.toMillis(elapsed),
+            outputStream.maxHeapGrowth
+        );
+        assertThat(count).isGreaterThanOrEqualTo(USER_COUNT);
+        assertThat(outputStream.lines).isEqualTo(count);
+        assertThat(outputStream.maxHeapGrowth).isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    /**
+     * Discards what is written, sampling the heap used after a collection every {@link #SAMPLE_INTERVAL} lines.
+     */
+    private static final class HeapSamplingOutputStream extends OutputStream {
+
+        private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+        private final long baseline = usedHeap();
+
+        private long bytes;
+
+        private long lines;
+
+        private long maxHeapGrowth;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n' && ++lines % SAMPLE_INTERVAL == 0) {
+                maxHeapGrowth = Math.max(maxHeapGrowth, usedHeap() - baseline);
+            }
+        }
+
+        private long usedHeap() {
+            System.gc();
+            return memoryMXBean.getHeapMemoryUsage().getUsed();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.jh.test.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jh.test.config.ApplicationProperties;
+import com.jh.test.service.dto.AppUserDTO;
+import com.jh.test.service.dto.PerfilDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import net.sf.jasperreports.engine.JRParameter;
+import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.design.JRDesignField;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class AppUserReportDataSourceTest {
+
+    private static final PerfilDTO PERFIL = perfil();
+
+    @Test
+    void readsEveryPageInIdOrder() throws Exception {
+        AtomicInteger pageCount = new AtomicInteger();
+        AppUserReportDataSource dataSource = new AppUserReportDataSource(
+            (afterId, size) -> {
+                pageCount.incrementAndGet();
+                return generatePage(afterId, size, 25);
+            },
+            10
+        );
+
+        JRDesignField idField = new JRDesignField();
+        idField.setName("id");
+        List<Object> ids = new ArrayList<>();
+        while (dataSource.next()) {
+            ids.add(dataSource.getFieldValue(idField));
+        }
+
+        assertThat(ids).containsExactlyElementsOf(LongStream.rangeClosed(1, 25).boxed().map(Object.class::cast).toList());
+        assertThat(pageCount.get()).isEqualTo(3);
+    }
+
+    @Test
+    void emptyTableHasNoRow() {
+        AppUserReportDataSource dataSource = new AppUserReportDataSource((afterId, size) -> List.of(), 10);
+
+        assertThat(dataSource.next()).isFalse();
+    }
+
+    /**
+     * Fills the user list report over 500k rows within the test JVM heap (see the surefire {@code argLine}):
+     * only one page of rows and {@code virtualizer-max-pages} filled pages are in memory at any time.
+     */
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    void fillsLargeReportWithBoundedMemory(@TempDir Path swapDirectory) throws Exception {
+        int rowCount = 500_000;
+        ApplicationProperties.Report reportProperties = new ApplicationProperties().getReport();
+        ReportTemplateRegistry reportTemplateRegistry = new ReportTemplateRegistry(
+            new DefaultResourceLoader(),
+            new ApplicationProperties(),
+            new SimpleMeterRegistry()
+        );
+        AtomicInteger loadedRows = new AtomicInteger();
+        AppUserReportDataSource dataSource = new AppUserReportDataSource(
+            (afterId, size) -> {
+                List<AppUserDTO> page = generatePage(afterId, size, rowCount);
+                loadedRows.addAndGet(page.size());
+                return page;
+            },
+            reportProperties.getFillPageSize()
+        );
+        JRSwapFileVirtualizer virtualizer = new JRSwapFileVirtualizer(
+            reportProperties.getVirtualizerMaxPages(),
+            new JRSwapFile(swapDirectory.toString(), 4096, 100),
+            true
+        );
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+
+        try {
+            JasperPrint jasperPrint = JasperFillManager.fillReport(
+                reportTemplateRegistry.getTemplate(ReportService.USER_LIST_TEMPLATE),
+                parameters,
+                dataSource
+            );
+
+            assertThat(loadedRows.get()).isEqualTo(rowCount);
+            assertThat(jasperPrint.getPages()).hasSizeGreaterThan(rowCount / 100);
+        } finally {
+            virtualizer.cleanup();
+        }
+    }
+
+    private static List<AppUserDTO> generatePage(Long afterId, int size, int rowCount) {
+        long first = afterId == null ? 1 : afterId + 1;
+        List<AppUserDTO> page = new ArrayList<>(size);
+        for (long id = first; id < first + size && id <= rowCount; id++) {
+            AppUserDTO appUserDTO = new AppUserDTO();
+            appUserDTO.setId(id);
+            appUserDTO.setName("name" + id);
+            appUserDTO.setLastname("lastname" + id);
+            appUserDTO.setPerfil(PERFIL);
+            page.add(appUserDTO);
+        }
+        return page;
+    }
+
+    private static PerfilDTO perfil() {
+        PerfilDTO perfilDTO = new PerfilDTO();
+        perfilDTO.setId(1L);
+        perfilDTO.setName("perfil");
+        return perfilDTO;
+    }
+}
@@ -0,0 +1,94 @@
+package com.jh.test.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jh.test.IntegrationTest;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link AppUserService} full-text search, checking its latency over a million appUsers.
+ */
+@IntegrationTest
+class AppUserSearchIT {
+
+    private static final int USER_COUNT = 1_000_000;
+
+    private static final int PERFIL_COUNT = 100;
+
+    private static final int SEARCH_COUNT = 200;
+
+    private static final long MAX_P99_MILLIS = 20;
+
+    private final Logger log = LoggerFactory.getLogger(AppUserSearchIT.class);
+
+    @Autowired
+    private AppUserService appUserService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    public void cleanup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from app_user where id < 0");
+            jdbcTemplate.update("delete from perfil where id < 0");
+        });
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void searchingAMillionAppUsersIsFast() {
+        // Negative ids never collide with the ones handed out by the sequences; the trigger fills the search vectors
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into perfil (id, name) select -i, 'perfil' || i from generate_series(1, ?) i", PERFIL_COUNT);
+            jdbcTemplate.update(
+                "insert into app_user (id, name, lastname, perfil_id)" +
+                " select -i, 'n' || substr(md5(i::text), 1, 10), 'l' || substr(md5((-i)::text), 1, 10), -(i % ? + 1)" +
+                " from generate_series(1, ?) i",
+                PERFIL_COUNT,
+                USER_COUNT
+            );
+            jdbcTemplate.execute("analyze app_user");
+        });
+        // Prefixes of existing names, and of names and lastnames together, as they are typed
+        Random random = new Random(42);
+        String[] texts = new String[SEARCH_COUNT];
+        for (int i = 0; i < SEARCH_COUNT; i++) {
+            texts[i] = jdbcTemplate.queryForObject(
+                i % 2 == 0
+                    ? "select substr(name, 1, 5) from app_user where id = ?"
+                    : "select substr(name, 1, 4) || ' ' || substr(lastname, 1, 3) from app_user where id = ?",
+                String.class,
+                -(random.nextInt(USER_COUNT) + 1)
+            );
+        }
+
+        long[] latencies = new long[SEARCH_COUNT];
+        for (int i = 0; i < SEARCH_COUNT; i++) {
+            long start = System.nanoTime();
+            assertThat(appUserService.search(texts[i], null, null, 20)).isNotEmpty();
+            latencies[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+        long p50 = TimeUnit.NANOSECONDS.toMillis(latencies[SEARCH_COUNT / 2]);
+        long p99 = TimeUnit.NANOSECONDS.toMillis(latencies[SEARCH_COUNT * 99 / 100]);
+        log.info("Searched {} appUsers {} times, p50 {} ms, p99 {} ms", USER_COUNT, SEARCH_COUNT, p50, p99);
+        assertThat(p99).isLessThan(MAX_P99_MILLIS);
+    }
+}
@@ -0,0 +1,374 @@
+package com.jh.test.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jh.test.IntegrationTest;
+import com.jh.test.domain.AppUser;
+import com.jh.test.domain.Perfil;
+import com.jh.test.repository.AppUserRepository;
+import com.jh.test.repository.PerfilRepository;
+import com.jh.test.repository.RecordingStatementInspector;
+import com.jh.test.service.dto.AppUserDTO;
+import com.jh.test.service.dto.BulkItemResultDTO;
+import com.jh.test.service.dto.PerfilDTO;
+import com.jh.test.service.mapper.AppUserMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link AppUserService} listing, comparing the projection path with the entity path, and for its
+ * bulk save, compared with single saves, of the allocation of ids in blocks, and of the perfils attached by the writes.
+ */
+@IntegrationTest
+class AppUserServiceIT {
+
+    private static final int USER_COUNT = 2_000;
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final int ITERATIONS = 5;
+
+    private static final int BULK_SIZE = 2_000;
+
+    private static final int BATCH_SIZE = 25;
+
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private final Logger log = LoggerFactory.getLogger(AppUserServiceIT.class);
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private PerfilRepository perfilRepository;
+
+    @Autowired
+    private AppUserMapper appUserMapper;
+
+    @Autowired
+    private AppUserService appUserService;
+
+    @Autowired
+    private PerfilReferenceCache perfilReferenceCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void initTest() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Perfil perfil = perfilRepository.save(new Perfil().name("perfil"));
+        List<AppUser> appUsers = new ArrayList<>(USER_COUNT);
+        for (int i = 0; i < USER_COUNT; i++) {
+            AppUser appUser = new AppUser().name("name" + i).lastname("lastname" + i);
+            appUser.setPerfil(perfil);
+            appUsers.add(appUser);
+        }
+        appUserRepository.saveAll(appUsers);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        appUserRepository.deleteAll();
+        perfilRepository.deleteAll();
+    }
+
+    @Test
+    void projectionPathReturnsTheSameDtosAsTheEntityPath() {
+        Pageable pageable = PageRequest.of(1, PAGE_SIZE, Sort.by("id"));
+
+        List<AppUserDTO> projected = appUserService.findAll(pageable).getContent();
+        List<AppUserDTO> mapped = readOnlyTransaction.execute(status -> entityPage(pageable).getContent());
+
+        assertThat(projected).hasSize(PAGE_SIZE);
+        assertThat(projected).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(mapped);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void projectionPathAllocatesLessThanTheEntityPath() {
+        // Warm up both paths
+        measure(this::entityPage);
+        measure(appUserService::findAll);
+
+        long[] entity = measure(this::entityPage);
+        long[] projection = measure(appUserService::findAll);
+        log.info(
+            "Page of {} appUsers: entity path {} bytes and {} us, projection path {} bytes and {} us",
+            PAGE_SIZE,
+            entity[0],
+            TimeUnit.NANOSECONDS.toMicros(entity[1]),
+            projection[0],
+            TimeUnit.NANOSECONDS.toMicros(projection[1])
+        );
+
+        assertThat(projection[0]).isLessThan(entity[0]);
+    }
+
+    @Test
+    void bulkSaveReportsEveryItem() {
+        Long perfilId = perfilRepository.findAll().get(0).getId();
+        AppUser existing = appUserRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+        AppUserDTO updated = appUserDTO("updated", perfilId);
+        updated.setId(existing.getId());
+        AppUserDTO unknownPerfil = appUserDTO("unknown", Long.MAX_VALUE);
+        AppUserDTO invalid = appUserDTO(null, perfilId);
+
+        List<BulkItemResultDTO> results = appUserService.saveAll(
+            List.of(appUserDTO("created", perfilId), updated, unknownPerfil, invalid)
+        );
+
+        assertThat(results)
+            .extracting(BulkItemResultDTO::getStatus)
+            .containsExactly(
+                BulkItemResultDTO.Status.CREATED,
+                BulkItemResultDTO.Status.UPDATED,
+                BulkItemResultDTO.Status.FAILED,
+                BulkItemResultDTO.Status.FAILED
+            );
+        assertThat(results).extracting(BulkItemResultDTO::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(results.get(3).getError()).startsWith("name ");
+        assertThat(appUserRepository.findById(results.get(0).getId())).get().extracting(AppUser::getName).isEqualTo("created");
+        assertThat(appUserRepository.findById(existing.getId())).get().extracting(AppUser::getName).isEqualTo("updated");
+        assertThat(appUserRepository.count()).isEqualTo(USER_COUNT + 1);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void bulkSaveIsTwentyTimesFasterThanSingleSaves() {
+        Long perfilId = perfilRepository.findAll().get(0).getId();
+        Function<String, List<AppUserDTO>> batch = prefix -> {
+            List<AppUserDTO> appUserDTOs = new ArrayList<>(BULK_SIZE);
+            for (int i = 0; i < BULK_SIZE; i++) {
+                appUserDTOs.add(appUserDTO(prefix + i, perfilId));
+            }
+            return appUserDTOs;
+        };
+        // Warm up both paths
+        batch.apply("warmup").forEach(appUserService::save);
+        appUserService.saveAll(batch.apply("warmup"));
+
+        List<AppUserDTO> singles = batch.apply("single");
+        long start = System.nanoTime();
+        singles.forEach(appUserService::save);
+        long single = System.nanoTime() - start;
+
+        List<AppUserDTO> bulk = batch.apply("bulk");
+        start = System.nanoTime();
+        List<BulkItemResultDTO> results = appUserService.saveAll(bulk);
+        long bulked = System.nanoTime() - start;
+
+        log.info(
+            "{} appUsers: single saves {} ms, bulk save {} ms",
+            BULK_SIZE,
+            TimeUnit.NANOSECONDS.toMillis(single),
+            TimeUnit.NANOSECONDS.toMillis(bulked)
+        );
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsOnly(BulkItemResultDTO.Status.CREATED);
+        assertThat(bulked * 20).isLessThan(single);
+    }
+
+    @Test
+    void bulkSaveFetchesIdsInBlocks() {
+        Long perfilId = perfilRepository.findAll().get(0).getId();
+        List<AppUserDTO> appUserDTOs = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            appUserDTOs.add(appUserDTO("block" + i, perfilId));
+        }
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            appUserService.saveAll(appUserDTOs);
+
+            // One statement per chunk for the inserts, and one sequence call per block of ids, instead of one per appUser
+            assertThat(statistics.getPrepareStatementCount()).isLessThan(BULK_SIZE / 10);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void writesAttachTheirPerfilWithoutQueryingIt() {
+        Long perfilId = perfilRepository.findAll().get(0).getId();
+        AppUserDTO appUserDTO = appUserService.save(appUserDTO("cached", perfilId));
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            // The first write after a change to the perfils loads them again
+            perfilReferenceCache.refresh();
+            statistics.clear();
+            appUserService.update(appUserDTO);
+            long uncached = statistics.getPrepareStatementCount();
+
+            statistics.clear();
+            RecordingStatementInspector.start();
+            List<String> statements;
+            try {
+                appUserService.update(appUserDTO);
+            } finally {
+                statements = RecordingStatementInspector.stop();
+            }
+            long cached = statistics.getPrepareStatementCount();
+
+            log.info("Update of an appUser: {} statements with the perfils cached, {} without", cached, uncached);
+            assertThat(cached).isEqualTo(uncached - 1);
+            assertThat(statements).noneMatch(statement -> statement.contains(" from perfil "));
+
+            RecordingStatementInspector.start();
+            try {
+                AppUserDTO saved = appUserService.save(appUserDTO("saved", perfilId));
+                appUserService.partialUpdate(saved);
+                assertThat(saved.getPerfil().getName()).isEqualTo("perfil");
+            } finally {
+                statements = RecordingStatementInspector.stop();
+            }
+            assertThat(statements).noneMatch(statement -> statement.contains(" from perfil "));
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void blockIdAllocationInsertsFasterThanOneSequenceCallPerRow() {
+        jdbcTemplate.execute("create sequence if not exists benchmark_seq increment by 1");
+        try {
+            // Warm up both paths
+            insertWithIds(() -> jdbcTemplate.queryForObject("select nextval('benchmark_seq')", Long.class));
+            insertWithIds(blockIds());
+
+            long perRow = insertWithIds(() -> jdbcTemplate.queryForObject("select nextval('benchmark_seq')", Long.class));
+            long perBlock = insertWithIds(blockIds());
+            log.info(
+                "{} appUsers inserted: {} rows/s with one sequence call per row, {} rows/s with blocks of {} ids",
+                BULK_SIZE,
+                BULK_SIZE * TimeUnit.SECONDS.toNanos(1) / perRow,
+                BULK_SIZE * TimeUnit.SECONDS.toNanos(1) / perBlock,
+                ID_BLOCK_SIZE
+            );
+
+            assertThat(perBlock).isLessThan(perRow);
+        } finally {
+            jdbcTemplate.execute("drop sequence benchmark_seq");
+        }
+    }
+
+    /**
+     * Hand out ids the way the pooled-lo optimizer does: one sequence call returns the first id of a block.
+     */
+    private Supplier<Long> blockIds() {
+        long[] block = { 0, ID_BLOCK_SIZE };
+        return () -> {
+            if (block[1] == ID_BLOCK_SIZE) {
+                block[0] = jdbcTemplate.queryForObject("select nextval('app_user_seq')", Long.class);
+                block[1] = 0;
+            }
+            return block[0] + block[1]++;
+        };
+    }
+
+    /**
+     * @return the time spent inserting {@link #BULK_SIZE} appUsers in JDBC batches, with ids from the given supplier.
+     */
+    private long insertWithIds(Supplier<Long> ids) {
+        return transactionTemplate.execute(status -> {
+            long start = System.nanoTime();
+            List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BULK_SIZE; i++) {
+                rows.add(new Object[] { ids.get(), "benchmark" + i, "lastname" });
+                if (rows.size() == BATCH_SIZE || i == BULK_SIZE - 1) {
+                    jdbcTemplate.batchUpdate("insert into app_user (id, name, lastname) values (?, ?, ?)", rows);
+                    rows.clear();
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            status.setRollbackOnly();
+            return elapsed;
+        });
+    }
+
+    private AppUserDTO appUserDTO(String name, Long perfilId) {
+        AppUserDTO appUserDTO = new AppUserDTO();
+        appUserDTO.setName(name);
+        appUserDTO.setLastname("lastname");
+        PerfilDTO perfilDTO = new PerfilDTO();
+        perfilDTO.setId(perfilId);
+        appUserDTO.setPerfil(perfilDTO);
+        return appUserDTO;
+    }
+
+    /**
+     * The path the projections replaced: load the appUsers with their perfil, then map them.
+     */
+    private Page<AppUserDTO> entityPage(Pageable pageable) {
+        List<AppUserDTO> content = em
+            .createQuery("select appUser from AppUser appUser left join fetch appUser.perfil order by appUser.id", AppUser.class)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultStream()
+            .map(appUserMapper::toDto)
+            .toList();
+        return new PageImpl<>(content, pageable, appUserRepository.count());
+    }
+
+    /**
+     * @return the bytes allocated and the time spent per page, the best of {@link #ITERATIONS} runs over every page.
+     */
+    private long[] measure(Function<Pageable, Page<AppUserDTO>> path) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bestAllocated = Long.MAX_VALUE;
+        long bestElapsed = Long.MAX_VALUE;
+        int pageCount = USER_COUNT / PAGE_SIZE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int page = 0; page < pageCount; page++) {
+                Pageable pageable = PageRequest.of(page, PAGE_SIZE, Sort.by("id"));
+                readOnlyTransaction.executeWithoutResult(status -> path.apply(pageable));
+            }
+            bestElapsed = Math.min(bestElapsed, (System.nanoTime() - start) / pageCount);
+            bestAllocated = Math.min(bestAllocated, (threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore) / pageCount);
+        }
+        return new long[] { bestAllocated, bestElapsed };
+    }
+}
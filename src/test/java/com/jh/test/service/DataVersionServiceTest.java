@@ -0,0 +1,50 @@
+package com.jh.test.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class DataVersionServiceTest {
+
+    private final DataVersionService dataVersionService = new DataVersionService();
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void versionIsBumpedOutsideOfATransaction() {
+        dataVersionService.bump();
+
+        assertThat(dataVersionService.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void versionIsBumpedOnlyOnceTheTransactionCommitted() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        dataVersionService.bump();
+        assertThat(dataVersionService.getVersion()).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(dataVersionService.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void versionIsNotBumpedWhenTheTransactionRolledBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        dataVersionService.bump();
+        TransactionSynchronizationManager
+            .getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(dataVersionService.getVersion()).isZero();
+    }
+}
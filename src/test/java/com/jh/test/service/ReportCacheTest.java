@@ -0,0 +1,74 @@
+package com.jh.test.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jh.test.config.ApplicationProperties;
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class ReportCacheTest {
+
+    private ReportCache reportCache;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getReport().getCache().setMaxEntryBytes(8);
+        reportCache = new ReportCache(new ConcurrentMapCacheManager(ReportCache.REPORTS_CACHE), applicationProperties);
+    }
+
+    @Test
+    void documentIsCachedOnceWritten() throws Exception {
+        String key = reportCache.key(ReportService.USER_LIST_TEMPLATE, ReportFormat.PDF, 1, Map.of());
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        ReportCache.CachingOutputStream outputStream = reportCache.capture(key, target);
+        outputStream.write(new byte[] { 1, 2, 3 });
+        assertThat(reportCache.get(key)).isEmpty();
+        outputStream.close();
+
+        assertThat(target.toByteArray()).containsExactly(1, 2, 3);
+        assertThat(reportCache.get(key)).hasValueSatisfying(document -> assertThat(document).containsExactly(1, 2, 3));
+    }
+
+    @Test
+    void keyChangesWithTheDataVersion() throws Exception {
+        String key = reportCache.key(ReportService.USER_LIST_TEMPLATE, ReportFormat.PDF, 1, Map.of());
+        try (ReportCache.CachingOutputStream outputStream = reportCache.capture(key, new ByteArrayOutputStream())) {
+            outputStream.write(1);
+        }
+
+        assertThat(reportCache.key(ReportService.USER_LIST_TEMPLATE, ReportFormat.PDF, 2, Map.of())).isNotEqualTo(key);
+        assertThat(reportCache.key(ReportService.USER_LIST_TEMPLATE, ReportFormat.EXCEL, 1, Map.of())).isNotEqualTo(key);
+        assertThat(reportCache.get(reportCache.key(ReportService.USER_LIST_TEMPLATE, ReportFormat.PDF, 2, Map.of()))).isEmpty();
+    }
+
+    @Test
+    void largeDocumentIsNotCached() throws Exception {
+        String key = reportCache.key(ReportService.USER_LIST_TEMPLATE, ReportFormat.PDF, 1, Map.of());
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        try (ReportCache.CachingOutputStream outputStream = reportCache.capture(key, target)) {
+            outputStream.write(new byte[6]);
+            outputStream.write(new byte[6]);
+        }
+
+        assertThat(target.size()).isEqualTo(12);
+        assertThat(reportCache.get(key)).isEmpty();
+    }
+
+    @Test
+    void discardedDocumentIsNotCached() throws Exception {
+        String key = reportCache.key(ReportService.USER_LIST_TEMPLATE, ReportFormat.PDF, 1, Map.of());
+
+        ReportCache.CachingOutputStream outputStream = reportCache.capture(key, new ByteArrayOutputStream());
+        outputStream.write(1);
+        outputStream.discard();
+        outputStream.close();
+
+        assertThat(reportCache.get(key)).isEmpty();
+    }
+}
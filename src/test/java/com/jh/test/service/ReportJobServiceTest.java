@@ -0,0 +1,158 @@
+package com.jh.test.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jh.test.config.ApplicationProperties;
+import com.jh.test.service.dto.ReportJobDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import net.sf.jasperreports.engine.JRRuntimeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReportJobServiceTest {
+
+    @TempDir
+    private Path spoolDirectory;
+
+    private ReportService reportService;
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private ReportJobService reportJobService;
+
+    @BeforeEach
+    public void setup() {
+        reportService = mock(ReportService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getReport().getJobs().setPoolSize(1);
+        applicationProperties.getReport().getJobs().setQueueCapacity(1);
+        applicationProperties.getReport().getJobs().setSpoolDirectory(spoolDirectory.toString());
+        reportJobService = new ReportJobService(reportService, applicationProperties, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reportJobService.shutdown();
+    }
+
+    @Test
+    void jobIsGeneratedInTheBackground() throws Exception {
+        when(reportService.fillReport(ReportFormat.PDF)).thenReturn(new FilledReport(null, null));
+        doAnswer(invocation -> {
+                invocation.getArgument(2, OutputStream.class).write("report".getBytes(StandardCharsets.UTF_8));
+                return null;
+            })
+            .when(reportService)
+            .exportReport(eq(ReportFormat.PDF), any(FilledReport.class), any());
+
+        ReportJobDTO job = reportJobService.submit(ReportFormat.PDF);
+
+        awaitStatus(job.getId(), ReportJobDTO.Status.COMPLETED);
+        ReportJobDTO completed = reportJobService.findOne(job.getId()).orElseThrow();
+        assertThat(completed.getStatus()).isEqualTo(ReportJobDTO.Status.COMPLETED);
+        assertThat(completed.getSize()).isEqualTo(6);
+        assertThat(completed.getCompletedDate()).isNotNull();
+        assertThat(Files.readString(reportJobService.findFile(job.getId()).orElseThrow())).isEqualTo("report");
+        assertThat(meterRegistry.get(ReportJobService.LATENCY_TIMER_NAME).tag("status", "completed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void cachedDocumentIsReusedWithoutFilling() throws Exception {
+        when(reportService.findCachedReport(ReportFormat.PDF)).thenReturn(Optional.of("cached".getBytes(StandardCharsets.UTF_8)));
+
+        ReportJobDTO job = reportJobService.submit(ReportFormat.PDF);
+
+        awaitStatus(job.getId(), ReportJobDTO.Status.COMPLETED);
+        assertThat(Files.readString(reportJobService.findFile(job.getId()).orElseThrow())).isEqualTo("cached");
+        verify(reportService, never()).fillReport(any());
+    }
+
+    @Test
+    void failedJobKeepsTheError() throws Exception {
+        when(reportService.fillReport(ReportFormat.EXCEL)).thenThrow(new JRRuntimeException("fill failed"));
+
+        ReportJobDTO job = reportJobService.submit(ReportFormat.EXCEL);
+
+        awaitStatus(job.getId(), ReportJobDTO.Status.FAILED);
+        assertThat(reportJobService.findOne(job.getId()).orElseThrow().getError()).isEqualTo("fill failed");
+        assertThat(reportJobService.findFile(job.getId())).isEmpty();
+    }
+
+    @Test
+    void jobFailingWithAnErrorIsCompleted() throws Exception {
+        when(reportService.fillReport(ReportFormat.PDF)).thenThrow(new OutOfMemoryError("Java heap space"));
+
+        ReportJobDTO job = reportJobService.submit(ReportFormat.PDF);
+
+        awaitStatus(job.getId(), ReportJobDTO.Status.FAILED);
+        ReportJobDTO failed = reportJobService.findOne(job.getId()).orElseThrow();
+        assertThat(failed.getError()).isEqualTo("Java heap space");
+        assertThat(failed.getCompletedDate()).isNotNull();
+    }
+
+    @Test
+    void jobIsRejectedWhenTheQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportService.fillReport(ReportFormat.WORD)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new FilledReport(null, null);
+        });
+
+        reportJobService.submit(ReportFormat.WORD);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        ReportJobDTO queued = reportJobService.submit(ReportFormat.WORD);
+
+        assertThat(queued.getStatus()).isEqualTo(ReportJobDTO.Status.QUEUED);
+        assertThat(meterRegistry.get(ReportJobService.QUEUE_GAUGE_NAME).gauge().value()).isEqualTo(1);
+        assertThatThrownBy(() -> reportJobService.submit(ReportFormat.WORD)).isInstanceOf(ReportQueueFullException.class);
+        release.countDown();
+    }
+
+    @Test
+    void expiredJobsAreRemoved() throws Exception {
+        applicationProperties.getReport().getJobs().setTimeToLiveSeconds(0);
+        reportJobService.shutdown();
+        reportJobService = new ReportJobService(reportService, applicationProperties, meterRegistry);
+        when(reportService.fillReport(ReportFormat.PDF)).thenReturn(new FilledReport(null, null));
+
+        ReportJobDTO job = reportJobService.submit(ReportFormat.PDF);
+        awaitStatus(job.getId(), ReportJobDTO.Status.COMPLETED);
+        Path file = reportJobService.findFile(job.getId()).orElseThrow();
+
+        reportJobService.removeExpiredJobs();
+
+        assertThat(reportJobService.findOne(job.getId())).isEmpty();
+        assertThat(file).doesNotExist();
+    }
+
+    private void awaitStatus(String id, ReportJobDTO.Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (reportJobService.findOne(id).orElseThrow().getStatus() != status) {
+            assertThat(System.nanoTime()).as("job %s to be %s", id, status).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.jh.test.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jh.test.IntegrationTest;
+import com.jh.test.domain.AppUser;
+import com.jh.test.domain.Perfil;
+import com.jh.test.repository.AppUserRepository;
+import com.jh.test.repository.PerfilRepository;
+import com.lowagie.text.pdf.PdfReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the {@link ReportService}, checking that the documents of a bundle match the documents
+ * downloaded on their own.
+ */
+@IntegrationTest
+class ReportServiceIT {
+
+    private static final int USER_COUNT = 5_000;
+
+    // The Office documents are ZIP archives, their content is in these entries
+    private static final String EXCEL_STRINGS = "xl/sharedStrings.xml";
+
+    private static final String WORD_DOCUMENT = "word/document.xml";
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private PerfilRepository perfilRepository;
+
+    @Autowired
+    private ReportService reportService;
+
+    @BeforeEach
+    public void initTest() {
+        Perfil perfil = perfilRepository.save(new Perfil().name("perfil"));
+        List<AppUser> appUsers = new ArrayList<>(USER_COUNT);
+        for (int i = 0; i < USER_COUNT; i++) {
+            AppUser appUser = new AppUser().name("name" + i).lastname("lastname" + i);
+            appUser.setPerfil(perfil);
+            appUsers.add(appUser);
+        }
+        appUserRepository.saveAll(appUsers);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        appUserRepository.deleteAll();
+        perfilRepository.deleteAll();
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void bundleHoldsEveryFormat() throws Exception {
+        Map<String, byte[]> documents = unzip(exportBundle());
+
+        assertThat(documents.keySet()).containsExactly("list_user.pdf", "list_user.xlsx", "list_user_query.docx");
+        PdfReader pdfReader = new PdfReader(documents.get("list_user.pdf"), userPassword());
+        try {
+            assertThat(pdfReader.isEncrypted()).isTrue();
+            assertThat(pdfReader.getNumberOfPages()).isPositive();
+        } finally {
+            pdfReader.close();
+        }
+        assertThat(entry(documents.get("list_user.xlsx"), EXCEL_STRINGS)).contains("name0", "lastname" + (USER_COUNT - 1));
+        assertThat(entry(documents.get("list_user_query.docx"), WORD_DOCUMENT)).contains("name0", "lastname" + (USER_COUNT - 1));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void bundleMatchesTheSeparateDownloads() throws Exception {
+        Map<String, byte[]> documents = unzip(exportBundle());
+
+        // The Word document is filled from its own template, like the Word download
+        assertThat(entry(documents.get("list_user_query.docx"), WORD_DOCUMENT))
+            .isEqualTo(entry(exportSeparately(ReportFormat.WORD), WORD_DOCUMENT));
+        assertThat(entry(documents.get("list_user.xlsx"), EXCEL_STRINGS))
+            .isEqualTo(entry(exportSeparately(ReportFormat.EXCEL), EXCEL_STRINGS));
+        // The encrypted PDF documents differ by their keys, not by their pages
+        assertThat(pageCount(documents.get("list_user.pdf"))).isEqualTo(pageCount(exportSeparately(ReportFormat.PDF)));
+    }
+
+    private byte[] exportSeparately(ReportFormat format) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (FilledReport filledReport = reportService.fillReport(format)) {
+            reportService.exportReport(format, filledReport, outputStream);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private byte[] exportBundle() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        List<ReportFormat> formats = List.of(ReportFormat.values());
+        try (FilledReportBundle filledReports = reportService.fillBundleReports(formats)) {
+            reportService.exportReports(filledReports, formats, outputStream);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static int pageCount(byte[] pdf) throws Exception {
+        PdfReader pdfReader = new PdfReader(pdf, userPassword());
+        try {
+            return pdfReader.getNumberOfPages();
+        } finally {
+            pdfReader.close();
+        }
+    }
+
+    private static byte[] userPassword() {
+        return ReportService.getLastDigitsOfRut("123456789", 5).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String entry(byte[] archive, String name) throws Exception {
+        byte[] content = unzip(archive).get(name);
+        assertThat(content).as(name).isNotNull();
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, byte[]> unzip(byte[] archive) throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                entries.put(entry.getName(), zipInputStream.readAllBytes());
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,161 @@
+package com.jh.test.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jh.test.config.ApplicationProperties;
+import com.jh.test.service.dto.AppUserDTO;
+import com.jh.test.service.dto.PerfilDTO;
+import com.lowagie.text.pdf.PdfReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class ReportServiceTest {
+
+    private static final int ROW_COUNT = 250;
+
+    private static ReportTemplateRegistry reportTemplateRegistry;
+
+    @TempDir
+    private Path swapDirectory;
+
+    private AppUserService appUserService;
+
+    private DataVersionService dataVersionService;
+
+    private ReportService reportService;
+
+    @BeforeAll
+    public static void compileTemplates() {
+        // Compiling the templates is slow, share them across the tests
+        reportTemplateRegistry =
+            new ReportTemplateRegistry(new DefaultResourceLoader(), new ApplicationProperties(), new SimpleMeterRegistry());
+        reportTemplateRegistry.preloadTemplates();
+    }
+
+    @BeforeEach
+    public void setup() {
+        appUserService = mock(AppUserService.class);
+        when(appUserService.findNext(any(), anyInt())).thenAnswer(invocation ->
+            generatePage(invocation.getArgument(0), invocation.getArgument(1))
+        );
+        dataVersionService = new DataVersionService();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getReport().setFillPageSize(100);
+        applicationProperties.getReport().setSwapDirectory(swapDirectory.toString());
+        reportService = new ReportService(
+            null,
+            appUserService,
+            reportTemplateRegistry,
+            new ReportCache(new ConcurrentMapCacheManager(ReportCache.REPORTS_CACHE), applicationProperties),
+            dataVersionService,
+            applicationProperties
+        );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reportService.shutdown();
+    }
+
+    @Test
+    void bundleHoldsOneDocumentPerFormatFromASingleFill() throws Exception {
+        ByteArrayOutputStream bundle = new ByteArrayOutputStream();
+        List<ReportFormat> formats = List.of(ReportFormat.PDF, ReportFormat.EXCEL);
+        try (FilledReportBundle filledReports = reportService.fillBundleReports(formats)) {
+            reportService.exportReports(filledReports, formats, bundle);
+        }
+
+        Map<String, byte[]> documents = unzip(bundle.toByteArray());
+        assertThat(documents).containsOnlyKeys("list_user.pdf", "list_user.xlsx");
+        PdfReader pdfReader = new PdfReader(documents.get("list_user.pdf"), "ownerPassword".getBytes(StandardCharsets.UTF_8));
+        try {
+            assertThat(pdfReader.isEncrypted()).isTrue();
+            assertThat(pdfReader.getNumberOfPages()).isPositive();
+        } finally {
+            pdfReader.close();
+        }
+        assertThat(new String(documents.get("list_user.xlsx"), 0, 2)).isEqualTo("PK");
+        // 3 pages of 100 appUsers, read once for both formats
+        verify(appUserService, times(3)).findNext(any(), anyInt());
+        try (var files = Files.list(swapDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void bundleKeepsTheRequestedOrder() throws Exception {
+        ByteArrayOutputStream bundle = new ByteArrayOutputStream();
+        List<ReportFormat> formats = List.of(ReportFormat.EXCEL, ReportFormat.PDF);
+        try (FilledReportBundle filledReports = reportService.fillBundleReports(formats)) {
+            reportService.exportReports(filledReports, formats, bundle);
+        }
+
+        assertThat(unzip(bundle.toByteArray()).keySet()).containsExactly("list_user.xlsx", "list_user.pdf");
+    }
+
+    @Test
+    void exportedDocumentIsCachedUntilTheDataChanges() throws Exception {
+        ByteArrayOutputStream document = new ByteArrayOutputStream();
+        try (FilledReport filledReport = reportService.fillReport(ReportFormat.EXCEL)) {
+            reportService.exportReport(ReportFormat.EXCEL, filledReport, document);
+        }
+
+        assertThat(reportService.findCachedReport(ReportFormat.EXCEL)).hasValue(document.toByteArray());
+        assertThat(reportService.findCachedReport(ReportFormat.WORD)).isEmpty();
+
+        dataVersionService.bump();
+
+        assertThat(reportService.findCachedReport(ReportFormat.EXCEL)).isEmpty();
+    }
+
+    private static Map<String, byte[]> unzip(byte[] bundle) throws Exception {
+        Map<String, byte[]> documents = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(bundle))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                documents.put(entry.getName(), zipInputStream.readAllBytes());
+            }
+        }
+        return documents;
+    }
+
+    private static List<AppUserDTO> generatePage(Long afterId, int size) {
+        PerfilDTO perfilDTO = new PerfilDTO();
+        perfilDTO.setId(1L);
+        perfilDTO.setName("perfil");
+        long first = afterId == null ? 1 : afterId + 1;
+        List<AppUserDTO> page = new ArrayList<>(size);
+        for (long id = first; id < first + size && id <= ROW_COUNT; id++) {
+            AppUserDTO appUserDTO = new AppUserDTO();
+            appUserDTO.setId(id);
+            appUserDTO.setName("name" + id);
+            appUserDTO.setLastname("lastname" + id);
+            appUserDTO.setPerfil(perfilDTO);
+            page.add(appUserDTO);
+        }
+        return page;
+    }
+}
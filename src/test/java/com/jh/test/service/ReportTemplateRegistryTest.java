@@ -0,0 +1,117 @@
+package com.jh.test.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jh.test.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import net.sf.jasperreports.engine.JRRuntimeException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class ReportTemplateRegistryTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private ReportTemplateRegistry reportTemplateRegistry;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        reportTemplateRegistry = new ReportTemplateRegistry(new DefaultResourceLoader(), applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void templateIsCompiledOnlyOnce() {
+        JasperReport first = reportTemplateRegistry.getTemplate(ReportService.USER_LIST_TEMPLATE);
+        JasperReport second = reportTemplateRegistry.getTemplate(ReportService.USER_LIST_TEMPLATE);
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get(ReportTemplateRegistry.COMPILE_TIMER_NAME).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ReportTemplateRegistry.CACHE_COUNTER_NAME).tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ReportTemplateRegistry.CACHE_COUNTER_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void templatesAreCachedByName() {
+        JasperReport userList = reportTemplateRegistry.getTemplate(ReportService.USER_LIST_TEMPLATE);
+        JasperReport userListQuery = reportTemplateRegistry.getTemplate(ReportService.USER_LIST_QUERY_TEMPLATE);
+
+        assertThat(userListQuery).isNotSameAs(userList);
+        assertThat(meterRegistry.find(ReportTemplateRegistry.COMPILE_TIMER_NAME).timers()).hasSize(2);
+    }
+
+    @Test
+    void changedTemplateIsRecompiledWhenReloadIsEnabled(@TempDir Path templateDir) throws Exception {
+        Path template = copyUserListTemplate(templateDir);
+        applicationProperties.getReport().setTemplateLocation(templateDir.toUri().toString());
+        applicationProperties.getReport().setReloadOnChange(true);
+
+        JasperReport first = reportTemplateRegistry.getTemplate(ReportService.USER_LIST_TEMPLATE);
+        assertThat(reportTemplateRegistry.getTemplate(ReportService.USER_LIST_TEMPLATE)).isSameAs(first);
+
+        template.toFile().setLastModified(template.toFile().lastModified() + 10_000);
+        assertThat(reportTemplateRegistry.getTemplate(ReportService.USER_LIST_TEMPLATE)).isNotSameAs(first);
+    }
+
+    @Test
+    void precompiledTemplateIsLoadedUnlessItsSourceIsNewer(@TempDir Path templateDir) throws Exception {
+        Path template = copyUserListTemplate(templateDir);
+        Path precompiled = templateDir.resolve("list_user.jasper");
+        JasperCompileManager.compileReportToFile(template.toString(), precompiled.toString());
+        applicationProperties.getReport().setTemplateLocation(templateDir.toUri().toString());
+
+        precompiled.toFile().setLastModified(template.toFile().lastModified() + 10_000);
+        reportTemplateRegistry.getTemplate(ReportService.USER_LIST_TEMPLATE);
+        assertThat(meterRegistry.get(ReportTemplateRegistry.COMPILE_TIMER_NAME).timer().count()).isZero();
+
+        // The source is edited after the template was precompiled
+        reportTemplateRegistry.clear();
+        template.toFile().setLastModified(precompiled.toFile().lastModified() + 10_000);
+        reportTemplateRegistry.getTemplate(ReportService.USER_LIST_TEMPLATE);
+        assertThat(meterRegistry.get(ReportTemplateRegistry.COMPILE_TIMER_NAME).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void changedSourceOfAPrecompiledTemplateIsCompiledWhenReloadIsEnabled(@TempDir Path templateDir) throws Exception {
+        Path template = copyUserListTemplate(templateDir);
+        Path precompiled = templateDir.resolve("list_user.jasper");
+        JasperCompileManager.compileReportToFile(template.toString(), precompiled.toString());
+        precompiled.toFile().setLastModified(template.toFile().lastModified() + 10_000);
+        applicationProperties.getReport().setTemplateLocation(templateDir.toUri().toString());
+        applicationProperties.getReport().setReloadOnChange(true);
+
+        JasperReport first = reportTemplateRegistry.getTemplate(ReportService.USER_LIST_TEMPLATE);
+        assertThat(reportTemplateRegistry.getTemplate(ReportService.USER_LIST_TEMPLATE)).isSameAs(first);
+
+        template.toFile().setLastModified(precompiled.toFile().lastModified() + 10_000);
+        assertThat(reportTemplateRegistry.getTemplate(ReportService.USER_LIST_TEMPLATE)).isNotSameAs(first);
+        assertThat(meterRegistry.get(ReportTemplateRegistry.COMPILE_TIMER_NAME).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownTemplateFails() {
+        assertThatThrownBy(() -> reportTemplateRegistry.getTemplate("unknown")).isInstanceOf(JRRuntimeException.class);
+    }
+
+    private static Path copyUserListTemplate(Path templateDir) throws Exception {
+        Path template = templateDir.resolve("list_user.jrxml");
+        try (InputStream source = new ClassPathResource("reports/list_user.jrxml").getInputStream()) {
+            Files.copy(source, template, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return template;
+    }
+}
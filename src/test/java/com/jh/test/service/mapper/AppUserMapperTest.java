@@ -1,6 +1,11 @@
 package com.jh.test.service.mapper;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jh.test.repository.AppUserSummary;
+import com.jh.test.service.dto.AppUserDTO;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 class AppUserMapperTest {
 
@@ -10,4 +15,24 @@ class AppUserMapperTest {
     public void setUp() {
         appUserMapper = new AppUserMapperImpl();
     }
+
+    @Test
+    void summaryIsMappedWithItsPerfil() {
+        AppUserDTO appUserDTO = appUserMapper.toDto(new AppUserSummary(1L, "name", "lastname", 3L, 2L, "perfil", 4L));
+
+        assertThat(appUserDTO.getId()).isEqualTo(1L);
+        assertThat(appUserDTO.getName()).isEqualTo("name");
+        assertThat(appUserDTO.getLastname()).isEqualTo("lastname");
+        assertThat(appUserDTO.getVersion()).isEqualTo(3L);
+        assertThat(appUserDTO.getPerfil().getId()).isEqualTo(2L);
+        assertThat(appUserDTO.getPerfil().getName()).isEqualTo("perfil");
+        assertThat(appUserDTO.getPerfil().getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void summaryWithoutPerfilHasNoPerfil() {
+        AppUserDTO appUserDTO = appUserMapper.toDto(new AppUserSummary(1L, "name", "lastname", 3L, null, null, null));
+
+        assertThat(appUserDTO.getPerfil()).isNull();
+    }
 }
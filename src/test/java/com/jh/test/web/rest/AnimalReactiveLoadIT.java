@@ -0,0 +1,144 @@
+package com.jh.test.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jh.test.TestjhApp;
+import com.jh.test.config.AsyncSyncConfiguration;
+import com.jh.test.config.EmbeddedMongo;
+import com.jh.test.config.EmbeddedSQL;
+import com.jh.test.domain.Animal;
+import com.jh.test.repository.AnimalRepository;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * Load test comparing the {@link AnimalReactiveResource} and {@link AnimalResource} searches, over a real server, by the
+ * number of request threads they keep busy and by their throughput.
+ */
+@SpringBootTest(classes = { TestjhApp.class, AsyncSyncConfiguration.class }, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EmbeddedSQL
+@EmbeddedMongo
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class AnimalReactiveLoadIT {
+
+    private static final int ANIMAL_COUNT = 10_000;
+
+    private static final int ESPECIE_COUNT = 100;
+
+    private static final int REQUEST_COUNT = 2_000;
+
+    private static final int CONCURRENCY = 200;
+
+    private final Logger log = LoggerFactory.getLogger(AnimalReactiveLoadIT.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @AfterEach
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    public void cleanup() {
+        animalRepository.deleteAll();
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void reactiveSearchNeedsFewerRequestThreads() throws Exception {
+        List<Animal> animales = new ArrayList<>(ANIMAL_COUNT);
+        for (int i = 0; i < ANIMAL_COUNT; i++) {
+            Animal animal = new Animal();
+            animal.setNombre("nombre" + i);
+            animal.setEspecie("especie" + (i % ESPECIE_COUNT));
+            animales.add(animal);
+        }
+        animalRepository.saveAll(animales);
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(4)).build();
+
+        // The reactive path runs first, so the request threads it needs are not hidden by the ones the blocking path started
+        Result reactive = run(client, "/api/reactive/animals/buscar");
+        Result blocking = run(client, "/api/animals/buscar");
+
+        log.info(
+            "{} searches, {} at a time: reactive {} req/s with {} request threads, blocking {} req/s with {} request threads",
+            REQUEST_COUNT,
+            CONCURRENCY,
+            reactive.throughput(),
+            reactive.peakThreads(),
+            blocking.throughput(),
+            blocking.peakThreads()
+        );
+        assertThat(reactive.failures()).isZero();
+        assertThat(blocking.failures()).isZero();
+        assertThat(reactive.peakThreads()).isLessThanOrEqualTo(blocking.peakThreads());
+    }
+
+    private Result run(HttpClient client, String path) throws Exception {
+        AtomicInteger peakThreads = new AtomicInteger();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakThreads.accumulateAndGet(busyRequestThreads(), Math::max), 0, 5, TimeUnit.MILLISECONDS);
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger failures = new AtomicInteger();
+        List<CompletableFuture<?>> responses = new ArrayList<>(REQUEST_COUNT);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < REQUEST_COUNT; i++) {
+                HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + path + "?especie=especie" + (i % ESPECIE_COUNT) + "&size=20")
+                )
+                    .header("Accept", "application/json")
+                    .build();
+                inFlight.acquire();
+                responses.add(
+                    client
+                        .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            inFlight.release();
+                            if (error != null || response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        })
+                );
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+        } finally {
+            sampler.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(REQUEST_COUNT * TimeUnit.SECONDS.toNanos(1) / elapsed, peakThreads.get(), failures.get());
+    }
+
+    // The Tomcat request threads that are not waiting for a request
+    private static int busyRequestThreads() {
+        int busy = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            String name = thread.getName();
+            if (name.startsWith("http-nio-") && name.contains("-exec-") && thread.getState() == Thread.State.RUNNABLE) {
+                busy++;
+            }
+        }
+        return busy;
+    }
+
+    private record Result(long throughput, int peakThreads, int failures) {}
+}
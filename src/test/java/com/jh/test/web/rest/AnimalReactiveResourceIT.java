@@ -0,0 +1,117 @@
+package com.jh.test.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jh.test.IntegrationTest;
+import com.jh.test.config.EmbeddedMongo;
+import com.jh.test.domain.Animal;
+import com.jh.test.repository.AnimalRepository;
+import com.jh.test.service.dto.AnimalDTO;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Integration tests for the {@link AnimalReactiveResource} REST controller.
+ */
+@IntegrationTest
+@EmbeddedMongo
+@AutoConfigureMockMvc
+@WithMockUser
+class AnimalReactiveResourceIT {
+
+    private static final String DEFAULT_NOMBRE = "AAAAAAAAAA";
+    private static final String UPDATED_NOMBRE = "BBBBBBBBBB";
+
+    private static final String DEFAULT_ESPECIE = "AAAAAAAAAA";
+
+    private static final String ENTITY_API_URL = "/api/reactive/animals";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private MockMvc restAnimalMockMvc;
+
+    private Animal animal;
+
+    @BeforeEach
+    public void initTest() {
+        animal = new Animal();
+        animal.setNombre(DEFAULT_NOMBRE);
+        animal.setEspecie(DEFAULT_ESPECIE);
+        animal = animalRepository.save(animal);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        animalRepository.deleteAll();
+    }
+
+    @Test
+    void createAnimal() throws Exception {
+        AnimalDTO animalDTO = new AnimalDTO();
+        animalDTO.setNombre(UPDATED_NOMBRE);
+        animalDTO.setEspecie(DEFAULT_ESPECIE);
+
+        perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(animalDTO)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.nombre").value(UPDATED_NOMBRE));
+
+        assertThat(animalRepository.findByNombre(UPDATED_NOMBRE, Pageable.unpaged())).hasSize(1);
+    }
+
+    @Test
+    void getAnimal() throws Exception {
+        perform(get(ENTITY_API_URL_ID, animal.getId())).andExpect(status().isOk()).andExpect(jsonPath("$.nombre").value(DEFAULT_NOMBRE));
+        perform(get(ENTITY_API_URL_ID, new ObjectId().toHexString())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void searchAnimalsAsJsonOrNdjson() throws Exception {
+        perform(get(ENTITY_API_URL + "/buscar?especie=" + DEFAULT_ESPECIE).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(animal.getId()));
+
+        perform(get(ENTITY_API_URL).accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(containsString("{\"id\":\"" + animal.getId() + "\"")));
+    }
+
+    @Test
+    void deleteAnimal() throws Exception {
+        perform(delete(ENTITY_API_URL_ID, animal.getId())).andExpect(status().isNoContent());
+        assertThat(animalRepository.existsById(animal.getId())).isFalse();
+
+        perform(delete(ENTITY_API_URL_ID, animal.getId())).andExpect(status().isNotFound());
+    }
+
+    /**
+     * Perform a request answered asynchronously, once MongoDB has answered.
+     */
+    private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = restAnimalMockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+        return restAnimalMockMvc.perform(asyncDispatch(result));
+    }
+}
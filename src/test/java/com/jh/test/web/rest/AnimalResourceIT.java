@@ -0,0 +1,374 @@
+package com.jh.test.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jh.test.IntegrationTest;
+import com.jh.test.config.EmbeddedMongo;
+import com.jh.test.domain.Animal;
+import com.jh.test.repository.AnimalRepository;
+import com.jh.test.repository.RecordingCommandListener;
+import com.jh.test.service.AnimalService;
+import com.jh.test.service.dto.AnimalDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.jh.test.web.rest.util.CursorPaginationUtil;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Integration tests for the {@link AnimalResource} REST controller.
+ */
+@IntegrationTest
+@EmbeddedMongo
+@AutoConfigureMockMvc
+@WithMockUser
+class AnimalResourceIT {
+
+    private static final String DEFAULT_NOMBRE = "AAAAAAAAAA";
+    private static final String UPDATED_NOMBRE = "BBBBBBBBBB";
+
+    private static final String DEFAULT_ESPECIE = "AAAAAAAAAA";
+
+    private static final String ENTITY_API_URL = "/api/animals";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private MockMvc restAnimalMockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Animal animal;
+
+    @BeforeEach
+    public void initTest() {
+        animal = new Animal();
+        animal.setNombre(DEFAULT_NOMBRE);
+        animal.setEspecie(DEFAULT_ESPECIE);
+        animal = animalRepository.save(animal);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        animalRepository.deleteAll();
+    }
+
+    @Test
+    void updateAnimalInOneCommand() throws Exception {
+        AnimalDTO animalDTO = new AnimalDTO();
+        animalDTO.setNombre(UPDATED_NOMBRE);
+        animalDTO.setEspecie(DEFAULT_ESPECIE);
+
+        List<String> commands = recordCommands(() ->
+            restAnimalMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, animal.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(animalDTO))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(animal.getId()))
+                .andExpect(jsonPath("$.nombre").value(UPDATED_NOMBRE))
+        );
+
+        assertThat(commands).containsExactly("findAndModify");
+        assertThat(animalRepository.findById(animal.getId())).get().extracting(Animal::getNombre).isEqualTo(UPDATED_NOMBRE);
+    }
+
+    @Test
+    void updateNonExistingAnimal() throws Exception {
+        AnimalDTO animalDTO = new AnimalDTO();
+        animalDTO.setNombre(UPDATED_NOMBRE);
+        animalDTO.setEspecie(DEFAULT_ESPECIE);
+        String id = new ObjectId().toHexString();
+
+        List<String> commands = recordCommands(() ->
+            restAnimalMockMvc
+                .perform(put(ENTITY_API_URL_ID, id).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(animalDTO)))
+                .andExpect(status().isNotFound())
+        );
+
+        // Replaced without upsert, so nothing is inserted
+        assertThat(commands).containsExactly("findAndModify");
+        assertThat(animalRepository.existsById(id)).isFalse();
+        assertThat(animalRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void deleteAnimalInOneCommand() throws Exception {
+        List<String> commands = recordCommands(() ->
+            restAnimalMockMvc.perform(delete(ENTITY_API_URL_ID, animal.getId())).andExpect(status().isNoContent())
+        );
+
+        assertThat(commands).containsExactly("delete");
+        assertThat(animalRepository.existsById(animal.getId())).isFalse();
+
+        commands =
+            recordCommands(() -> restAnimalMockMvc.perform(delete(ENTITY_API_URL_ID, animal.getId())).andExpect(status().isNotFound()));
+
+        assertThat(commands).containsExactly("delete");
+    }
+
+    @Test
+    void deleteAnimalsInOneCommand() throws Exception {
+        Animal other = new Animal();
+        other.setNombre(UPDATED_NOMBRE);
+        other.setEspecie(DEFAULT_ESPECIE);
+        other = animalRepository.save(other);
+        List<String> ids = List.of(animal.getId(), other.getId(), new ObjectId().toHexString());
+
+        List<String> commands = recordCommands(() ->
+            restAnimalMockMvc
+                .perform(
+                    delete(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(ids))
+                )
+                .andExpect(status().isNoContent())
+        );
+
+        // Los ids que no existen se ignoran
+        assertThat(commands).containsExactly("delete");
+        assertThat(animalRepository.count()).isZero();
+    }
+
+    @Test
+    void bulkCreateAnimalsInOneCommand() throws Exception {
+        AnimalDTO valid = new AnimalDTO();
+        valid.setNombre(UPDATED_NOMBRE);
+        valid.setEspecie(DEFAULT_ESPECIE);
+        AnimalDTO invalid = new AnimalDTO();
+        invalid.setNombre(UPDATED_NOMBRE);
+        AnimalDTO duplicated = new AnimalDTO();
+        duplicated.setId(animal.getId());
+        duplicated.setNombre(UPDATED_NOMBRE);
+        duplicated.setEspecie(DEFAULT_ESPECIE);
+        long batches = meterRegistry.timer(AnimalService.BULK_BATCH_TIMER_NAME, "mode", "insert").count();
+
+        List<String> commands = recordCommands(() ->
+            restAnimalMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(List.of(valid, invalid, duplicated)))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").isNotEmpty())
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andExpect(jsonPath("$[1].error").value(containsString("especie")))
+                .andExpect(jsonPath("$[2].index").value(2))
+                .andExpect(jsonPath("$[2].status").value("FAILED"))
+        );
+
+        // Los animales no válidos no llegan a MongoDB, y el duplicado no impide guardar el resto
+        assertThat(commands).containsExactly("insert");
+        assertThat(animalRepository.count()).isEqualTo(2);
+        assertThat(meterRegistry.timer(AnimalService.BULK_BATCH_TIMER_NAME, "mode", "insert").count())
+            .isEqualTo(batches + 1);
+    }
+
+    @Test
+    void bulkUpsertAnimalsByEspecieAndNombre() throws Exception {
+        String ndjson = """
+            {"nombre":"%s","especie":"%s"}
+            {"nombre":"%s","especie":"%s"}
+            """.formatted(DEFAULT_NOMBRE, DEFAULT_ESPECIE, UPDATED_NOMBRE, DEFAULT_ESPECIE);
+
+        List<String> commands = recordCommands(() ->
+            restAnimalMockMvc
+                .perform(post(ENTITY_API_URL + "/bulk?upsert=true").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("UNCHANGED"))
+                .andExpect(jsonPath("$[0].id").value(animal.getId()))
+                .andExpect(jsonPath("$[1].status").value("CREATED"))
+        );
+
+        assertThat(commands).containsExactly("update", "find");
+        assertThat(animalRepository.count()).isEqualTo(2);
+        restAnimalMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_NDJSON).content("{\"nombre\":"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkCreateTooManyAnimals() throws Exception {
+        String animales = String.join(",", Collections.nCopies(10_001, "{}"));
+
+        restAnimalMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content("[" + animales + "]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.bulktoolarge"));
+
+        assertThat(animalRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @WithAnonymousUser
+    void bulkCreateAnimalsNeedsAuthentication() throws Exception {
+        restAnimalMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content("[]"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithAnonymousUser
+    void bulkDeleteAnimalsNeedsAuthentication() throws Exception {
+        restAnimalMockMvc
+            .perform(delete(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content("[\"" + animal.getId() + "\"]"))
+            .andExpect(status().isUnauthorized());
+
+        assertThat(animalRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void listAnimalsByPage() throws Exception {
+        guardarAnimales(4);
+
+        restAnimalMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "5"))
+            .andExpect(jsonPath("$.length()").value(2));
+        restAnimalMockMvc
+            .perform(get(ENTITY_API_URL + "/buscar?especie=" + DEFAULT_ESPECIE + "&nombre=" + UPDATED_NOMBRE + "&size=10"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "4"))
+            .andExpect(jsonPath("$[*].nombre").value(everyItem(is(UPDATED_NOMBRE))));
+    }
+
+    @Test
+    void listAnimalsAfterACursor() throws Exception {
+        List<String> ids = new ArrayList<>(guardarAnimales(4));
+        ids.add(animal.getId());
+        Collections.sort(ids);
+
+        // Recorre los animales de dos en dos, siguiendo el cursor de cada página
+        List<String> read = new ArrayList<>();
+        String cursor = "";
+        do {
+            MvcResult result = restAnimalMockMvc
+                .perform(get(ENTITY_API_URL).param(CursorPaginationUtil.AFTER_PARAMETER, cursor).param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+            read.addAll(JsonPath.read(result.getResponse().getContentAsString(), "$[*].id"));
+            cursor = result.getResponse().getHeader(CursorPaginationUtil.HEADER_NEXT_CURSOR);
+        } while (cursor != null);
+
+        assertThat(read).containsExactlyElementsOf(ids);
+        restAnimalMockMvc
+            .perform(get(ENTITY_API_URL).param(CursorPaginationUtil.AFTER_PARAMETER, CursorPaginationUtil.encodeCursor("invalid")))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportAnimalsInBatches() throws Exception {
+        guardarAnimales(4);
+
+        List<String> commands = recordCommands(() -> {
+            MvcResult result = restAnimalMockMvc
+                .perform(get(ENTITY_API_URL + "/export?batchSize=2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            return restAnimalMockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("{\"id\":\"" + animal.getId() + "\"")));
+        });
+
+        // Cinco animales, leídos de dos en dos por el mismo cursor
+        assertThat(commands).containsExactly("find", "getMore", "getMore");
+    }
+
+    @Test
+    void getAnimalStatsWithOneAggregation() throws Exception {
+        guardarAnimales(4);
+        Animal other = new Animal();
+        other.setNombre(DEFAULT_NOMBRE);
+        other.setEspecie(UPDATED_NOMBRE);
+        animalRepository.save(other);
+        cacheManager.getCache(AnimalService.STATS_CACHE).clear();
+
+        List<String> commands = recordCommands(() ->
+            restAnimalMockMvc
+                .perform(get(ENTITY_API_URL + "/stats?top=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(6))
+                .andExpect(jsonPath("$.especies.length()").value(2))
+                .andExpect(jsonPath("$.especies[0].especie").value(DEFAULT_ESPECIE))
+                .andExpect(jsonPath("$.especies[0].count").value(5))
+                .andExpect(jsonPath("$.especies[0].nombres.length()").value(1))
+                .andExpect(jsonPath("$.especies[0].nombres[0].nombre").value(UPDATED_NOMBRE))
+                .andExpect(jsonPath("$.especies[0].nombres[0].count").value(4))
+                .andExpect(jsonPath("$.especies[1].count").value(1))
+        );
+        assertThat(commands).containsExactly("aggregate");
+
+        // Las siguientes peticiones se sirven desde la caché
+        commands =
+            recordCommands(() ->
+                restAnimalMockMvc.perform(get(ENTITY_API_URL + "/stats?top=1")).andExpect(jsonPath("$.total").value(6))
+            );
+        assertThat(commands).isEmpty();
+        restAnimalMockMvc.perform(get(ENTITY_API_URL + "/stats?top=0")).andExpect(status().isBadRequest());
+    }
+
+    private List<String> guardarAnimales(int count) {
+        List<Animal> animales = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Animal other = new Animal();
+            other.setNombre(UPDATED_NOMBRE);
+            other.setEspecie(DEFAULT_ESPECIE);
+            animales.add(other);
+        }
+        return animalRepository.saveAll(animales).stream().map(Animal::getId).toList();
+    }
+
+    private List<String> recordCommands(Request request) throws Exception {
+        RecordingCommandListener.start();
+        List<String> commands;
+        try {
+            request.perform();
+        } finally {
+            commands = RecordingCommandListener.stop();
+        }
+        return commands;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        ResultActions perform() throws Exception;
+    }
+}
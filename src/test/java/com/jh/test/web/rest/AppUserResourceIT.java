@@ -1,26 +1,44 @@
 package com.jh.test.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import com.jh.test.IntegrationTest;
 import com.jh.test.domain.AppUser;
+import com.jh.test.domain.Perfil;
 import com.jh.test.repository.AppUserRepository;
+import com.jh.test.repository.PerfilRepository;
+import com.jh.test.repository.RecordingStatementInspector;
+import com.jh.test.service.PerfilReferenceCache;
 import com.jh.test.service.dto.AppUserDTO;
 import com.jh.test.service.mapper.AppUserMapper;
+import com.jh.test.web.rest.util.CursorPaginationUtil;
+import com.jh.test.web.rest.util.ETagUtil;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -52,9 +70,18 @@ class AppUserResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private EntityManagerFactory emf;
+
     @Autowired
     private MockMvc restAppUserMockMvc;
 
+    @Autowired
+    private PerfilReferenceCache perfilReferenceCache;
+
+    @Autowired
+    private PerfilRepository perfilRepository;
+
     private AppUser appUser;
 
     /**
@@ -102,6 +129,73 @@ class AppUserResourceIT {
         assertThat(testAppUser.getLastname()).isEqualTo(DEFAULT_LASTNAME);
     }
 
+    @Test
+    void bulkCreateAppUsersFromNdjson() throws Exception {
+        // Not transactional: every chunk of the bulk request commits on its own
+        AppUserDTO valid = appUserMapper.toDto(appUser);
+        AppUserDTO invalid = appUserMapper.toDto(new AppUser().name(DEFAULT_NAME));
+        String ndjson =
+            new String(TestUtil.convertObjectToJsonBytes(valid)) + "\n" + new String(TestUtil.convertObjectToJsonBytes(invalid)) + "\n";
+
+        String response = restAppUserMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.[1].status").value("FAILED"))
+            .andExpect(jsonPath("$.[1].error").value(containsString("lastname")))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        Long id = ((Number) JsonPath.read(response, "$.[0].id")).longValue();
+        try {
+            assertThat(appUserRepository.findById(id)).get().extracting(AppUser::getLastname).isEqualTo(DEFAULT_LASTNAME);
+        } finally {
+            appUserRepository.deleteById(id);
+        }
+
+        // A malformed line is rejected
+        restAppUserMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_NDJSON).content("{\"name\":"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkCreateAppUsersFromNdjsonInChunks() throws Exception {
+        // More lines than a chunk, with an invalid one in the second chunk
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            AppUserDTO appUserDTO = appUserMapper.toDto(new AppUser().name(DEFAULT_NAME).lastname(i == 40 ? null : DEFAULT_LASTNAME));
+            ndjson.append(new String(TestUtil.convertObjectToJsonBytes(appUserDTO))).append('\n');
+        }
+
+        String response = restAppUserMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_NDJSON).content(ndjson.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(60))
+            .andExpect(jsonPath("$.[40].index").value(40))
+            .andExpect(jsonPath("$.[40].status").value("FAILED"))
+            .andExpect(jsonPath("$.[59].index").value(59))
+            .andExpect(jsonPath("$.[59].status").value("CREATED"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        List<Number> ids = JsonPath.read(response, "$.[?(@.status == 'CREATED')].id");
+        assertThat(ids).hasSize(59);
+        appUserRepository.deleteAllById(ids.stream().map(Number::longValue).toList());
+    }
+
+    @Test
+    void bulkCreateTooManyAppUsers() throws Exception {
+        String appUsers = String.join(",", Collections.nCopies(10_001, "{}"));
+
+        restAppUserMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content("[" + appUsers + "]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.bulktoolarge"));
+    }
+
     @Test
     @Transactional
     void createAppUserWithExistingId() throws Exception {
@@ -121,6 +215,25 @@ class AppUserResourceIT {
         assertThat(appUserList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createAppUserWithPerfilDeletedSinceCached() throws Exception {
+        Perfil perfil = new Perfil().name("Administrador");
+        em.persist(perfil);
+        em.flush();
+        perfilReferenceCache.find(perfil.getId());
+        // The perfil is deleted by another instance, so the cache of this one still has it
+        em.createNativeQuery("delete from perfil where id = :id").setParameter("id", perfil.getId()).executeUpdate();
+        em.clear();
+        appUser.setPerfil(perfil);
+        AppUserDTO appUserDTO = appUserMapper.toDto(appUser);
+
+        restAppUserMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(appUserDTO)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.idnotfound"));
+    }
+
     @Test
     @Transactional
     void checkNameIsRequired() throws Exception {
@@ -170,7 +283,197 @@ class AppUserResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(appUser.getId().intValue())))
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
-            .andExpect(jsonPath("$.[*].lastname").value(hasItem(DEFAULT_LASTNAME)));
+            .andExpect(jsonPath("$.[*].lastname").value(hasItem(DEFAULT_LASTNAME)))
+            .andExpect(jsonPath("$.[?(@.id == " + appUser.getId() + ")].version").value(contains(appUser.getVersion().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllAppUsersAfterACursorWithoutCounting() throws Exception {
+        // Initialize the database
+        appUserRepository.saveAndFlush(appUser);
+        AppUser otherAppUser = createEntity(em);
+        appUserRepository.saveAndFlush(otherAppUser);
+        em.clear();
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            String cursor = CursorPaginationUtil.encodeCursor(appUser.getId() - 1);
+            String nextCursor = restAppUserMockMvc
+                .perform(get(ENTITY_API_URL + "?after=" + cursor + "&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(jsonPath("$.[*].id").value(contains(appUser.getId().intValue())))
+                .andReturn()
+                .getResponse()
+                .getHeader(CursorPaginationUtil.HEADER_NEXT_CURSOR);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(CursorPaginationUtil.decodeCursor(nextCursor)).isEqualTo(appUser.getId());
+
+            restAppUserMockMvc
+                .perform(get(ENTITY_API_URL + "?after=" + nextCursor + "&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id").value(otherAppUser.getId().intValue()));
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllAppUsersWithAConstantNumberOfStatements() throws Exception {
+        // Initialize the database, every appUser with its own perfil
+        for (int i = 0; i < 100; i++) {
+            Perfil perfil = new Perfil().name("perfil" + i);
+            em.persist(perfil);
+            AppUser pagedAppUser = createEntity(em);
+            pagedAppUser.setPerfil(perfil);
+            em.persist(pagedAppUser);
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            restAppUserMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&size=100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].perfil.name").value(hasItem("perfil99")));
+            long pageOf100Statements = statistics.getPrepareStatementCount();
+
+            em.clear();
+            statistics.clear();
+            restAppUserMockMvc.perform(get(ENTITY_API_URL + "?sort=id,desc&size=10")).andExpect(status().isOk());
+            long pageOf10Statements = statistics.getPrepareStatementCount();
+
+            // One select fetching the appUsers with their perfil, one count
+            assertThat(pageOf100Statements).isEqualTo(2);
+            assertThat(pageOf10Statements).isEqualTo(pageOf100Statements);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void exportAppUsers() throws Exception {
+        // Not transactional: the export is streamed from another thread, in its own transaction
+        appUserRepository.saveAndFlush(appUser);
+        try {
+            MvcResult ndjson = restAppUserMockMvc
+                .perform(get(ENTITY_API_URL + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restAppUserMockMvc
+                .perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("{\"id\":" + appUser.getId() + ",\"name\":\"" + DEFAULT_NAME + "\"")));
+
+            MvcResult csv = restAppUserMockMvc
+                .perform(get(ENTITY_API_URL + "/export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restAppUserMockMvc
+                .perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("id;name;lastname;perfil_id\n")))
+                .andExpect(content().string(containsString(appUser.getId() + ";" + DEFAULT_NAME + ";" + DEFAULT_LASTNAME + ";\n")));
+
+            restAppUserMockMvc.perform(get(ENTITY_API_URL + "/export?format=xml")).andExpect(status().isBadRequest());
+        } finally {
+            appUserRepository.deleteById(appUser.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    void searchAppUsers() throws Exception {
+        // Initialize the database
+        Perfil perfil = new Perfil().name("perfil");
+        em.persist(perfil);
+        appUser.setPerfil(perfil);
+        appUserRepository.saveAndFlush(appUser);
+
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/search?name=" + DEFAULT_NAME.substring(0, 3).toLowerCase()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(appUser.getId().intValue())));
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/search?lastname=" + DEFAULT_LASTNAME.substring(0, 3)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(appUser.getId().intValue())));
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/search?contains=" + DEFAULT_NAME.substring(2, 6)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(appUser.getId().intValue())));
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/search?perfilId=" + perfil.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(appUser.getId().intValue()));
+
+        // Wildcards are searched literally
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/search").param("name", "%"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(appUser.getId().intValue()))));
+
+        // Exactly one criterion is required
+        restAppUserMockMvc.perform(get(ENTITY_API_URL + "/search")).andExpect(status().isBadRequest());
+        restAppUserMockMvc.perform(get(ENTITY_API_URL + "/search?name=a&lastname=b")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void fullTextSearchAppUsers() throws Exception {
+        // Initialize the database
+        Perfil perfil = new Perfil().name("Administrador");
+        em.persist(perfil);
+        AppUser byName = new AppUser().name("Marisol").lastname("Pérez");
+        AppUser byLastname = new AppUser().name("Ana").lastname("Marinero");
+        AppUser byPerfil = new AppUser().name("Luis").lastname("Soto").perfil(perfil);
+        appUserRepository.saveAllAndFlush(List.of(byName, byLastname, byPerfil));
+
+        // Name matches rank above lastname matches
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/_search?q=mari"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(CursorPaginationUtil.HEADER_NEXT_CURSOR))
+            .andExpect(jsonPath("$.[0].id").value(byName.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(byLastname.getId().intValue()))
+            .andExpect(jsonPath("$.[2]").doesNotExist());
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/_search?q=luis admin"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(byPerfil.getId().intValue()))
+            .andExpect(jsonPath("$.[0].perfil.name").value("Administrador"))
+            .andExpect(jsonPath("$.[0].version").value(byPerfil.getVersion().intValue()))
+            .andExpect(jsonPath("$.[0].perfil.version").value(perfil.getVersion().intValue()))
+            .andExpect(jsonPath("$.[1]").doesNotExist());
+
+        // Hits are paged with the cursor
+        String nextCursor = restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/_search?q=mari&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(byName.getId().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader(CursorPaginationUtil.HEADER_NEXT_CURSOR);
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/_search?q=mari&size=1").param(CursorPaginationUtil.AFTER_PARAMETER, nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(CursorPaginationUtil.HEADER_NEXT_CURSOR))
+            .andExpect(jsonPath("$.[0].id").value(byLastname.getId().intValue()));
+
+        // Operators of the query syntax are not interpreted
+        restAppUserMockMvc.perform(get(ENTITY_API_URL + "/_search").param("q", "!(&|")).andExpect(status().isOk());
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/_search?q=mari").param(CursorPaginationUtil.AFTER_PARAMETER, "invalid"))
+            .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -227,6 +530,102 @@ class AppUserResourceIT {
         assertThat(testAppUser.getLastname()).isEqualTo(UPDATED_LASTNAME);
     }
 
+    @Test
+    @Transactional
+    void getAppUserNotModified() throws Exception {
+        // Initialize the database
+        appUserRepository.saveAndFlush(appUser);
+        String eTag = ETagUtil.eTag(appUser.getVersion());
+
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL_ID, appUser.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL_ID, appUser.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void putAppUserWithIfMatch() throws Exception {
+        // Initialize the database
+        appUserRepository.saveAndFlush(appUser);
+        String eTag = ETagUtil.eTag(appUser.getVersion());
+
+        AppUserDTO appUserDTO = appUserMapper.toDto(appUser);
+        appUserDTO.setName(UPDATED_NAME);
+
+        String updatedETag = restAppUserMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, appUserDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(appUserDTO))
+            )
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(updatedETag).isNotEqualTo(eTag);
+
+        // The first tag is now stale, so a later change is refused instead of overwriting the first one
+        appUserDTO.setLastname(UPDATED_LASTNAME);
+        restAppUserMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, appUserDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(appUserDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+        // Weak tags never match If-Match
+        restAppUserMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, appUserDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "W/" + updatedETag)
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(appUserDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(appUserRepository.findById(appUser.getId())).get().extracting(AppUser::getLastname).isEqualTo(DEFAULT_LASTNAME);
+    }
+
+    @Test
+    @Transactional
+    void putAppUserWithIfMatchWhileThePerfilCacheIsBehind() throws Exception {
+        Perfil perfil = new Perfil().name("Administrador");
+        em.persist(perfil);
+        appUser.setPerfil(perfil);
+        appUserRepository.saveAndFlush(appUser);
+        perfilReferenceCache.find(perfil.getId());
+        // The perfil is changed by another instance, so the cache of this one still has its previous version
+        em.createNativeQuery("update perfil set version = version + 1 where id = :id").setParameter("id", perfil.getId()).executeUpdate();
+        em.clear();
+
+        String eTag = restAppUserMockMvc
+            .perform(get(ENTITY_API_URL_ID, appUser.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        AppUserDTO appUserDTO = appUserMapper.toDto(appUser);
+        appUserDTO.setName(UPDATED_NAME);
+
+        restAppUserMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, appUserDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(appUserDTO))
+            )
+            .andExpect(status().isOk());
+    }
+
     @Test
     @Transactional
     void putNonExistingAppUser() throws Exception {
@@ -250,6 +649,58 @@ class AppUserResourceIT {
         assertThat(appUserList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    void updateAppUserLoadsItOnce() throws Exception {
+        // Not transactional: every request runs in its own transaction, as in production
+        Perfil perfil = perfilRepository.saveAndFlush(new Perfil().name("Administrador"));
+        appUser.setPerfil(perfil);
+        appUserRepository.saveAndFlush(appUser);
+        // Without an If-Match header, the perfil is taken from the cache and its version is not read
+        perfilReferenceCache.find(perfil.getId());
+        try {
+            AppUserDTO appUserDTO = appUserMapper.toDto(appUser);
+            appUserDTO.setName(UPDATED_NAME);
+
+            RecordingStatementInspector.start();
+            List<String> statements;
+            try {
+                restAppUserMockMvc
+                    .perform(
+                        put(ENTITY_API_URL_ID, appUserDTO.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(TestUtil.convertObjectToJsonBytes(appUserDTO))
+                    )
+                    .andExpect(status().isOk());
+            } finally {
+                statements = RecordingStatementInspector.stop();
+            }
+            // The select of the appUser and its update, without a separate existence check
+            assertThat(statements).hasSize(2);
+
+            appUserDTO.setLastname(UPDATED_LASTNAME);
+            RecordingStatementInspector.start();
+            try {
+                restAppUserMockMvc
+                    .perform(
+                        patch(ENTITY_API_URL_ID, appUserDTO.getId())
+                            .contentType("application/merge-patch+json")
+                            .content(TestUtil.convertObjectToJsonBytes(appUserDTO))
+                    )
+                    .andExpect(status().isOk());
+            } finally {
+                statements = RecordingStatementInspector.stop();
+            }
+            assertThat(statements).hasSize(2);
+            assertThat(appUserRepository.findById(appUser.getId()))
+                .get()
+                .extracting(AppUser::getName, AppUser::getLastname)
+                .containsExactly(UPDATED_NAME, UPDATED_LASTNAME);
+        } finally {
+            appUserRepository.deleteById(appUser.getId());
+            perfilRepository.deleteById(perfil.getId());
+        }
+    }
+
     @Test
     @Transactional
     void putWithIdMismatchAppUser() throws Exception {
@@ -436,4 +887,49 @@ class AppUserResourceIT {
         List<AppUser> appUserList = appUserRepository.findAll();
         assertThat(appUserList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void bulkDeleteAppUsersInOneStatement() throws Exception {
+        // Initialize the database
+        AppUser other = appUserRepository.saveAndFlush(createUpdatedEntity(em));
+        appUserRepository.saveAndFlush(appUser);
+
+        int databaseSizeBeforeDelete = appUserRepository.findAll().size();
+
+        RecordingStatementInspector.start();
+        List<String> statements;
+        try {
+            restAppUserMockMvc
+                .perform(
+                    delete(ENTITY_API_URL + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(List.of(appUser.getId(), other.getId(), Long.MAX_VALUE)))
+                )
+                .andExpect(status().isNoContent());
+        } finally {
+            statements = RecordingStatementInspector.stop();
+        }
+
+        // The ids not found are ignored, and no appUser is loaded
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0)).startsWithIgnoringCase("delete");
+        assertThat(appUserRepository.findAll()).hasSize(databaseSizeBeforeDelete - 2);
+    }
+
+    @Test
+    @Transactional
+    void bulkDeleteAppUsersWithNullId() throws Exception {
+        restAppUserMockMvc
+            .perform(delete(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content("[1, null]"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithAnonymousUser
+    void bulkDeleteAppUsersNeedsAuthentication() throws Exception {
+        restAppUserMockMvc
+            .perform(delete(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content("[1]"))
+            .andExpect(status().isUnauthorized());
+    }
 }
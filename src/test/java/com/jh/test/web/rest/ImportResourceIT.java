@@ -0,0 +1,154 @@
+package com.jh.test.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.jh.test.IntegrationTest;
+import com.jh.test.domain.Perfil;
+import com.jh.test.repository.AppUserRepository;
+import com.jh.test.repository.PerfilRepository;
+import com.jh.test.security.AuthoritiesConstants;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ImportResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class ImportResourceIT {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private static final int THROUGHPUT_ROWS = 200_000;
+
+    private final Logger log = LoggerFactory.getLogger(ImportResourceIT.class);
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private PerfilRepository perfilRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc restImportMockMvc;
+
+    @Test
+    @Transactional
+    void importAppUsersWithGeneratedIds() throws Exception {
+        Perfil perfil = perfilRepository.saveAndFlush(new Perfil().name("perfil"));
+        long appUserCount = appUserRepository.count();
+        String csv = String.join(
+            "\n",
+            "name;lastname;perfil_id",
+            "Ana;Diaz;" + perfil.getId(),
+            "Luis;;",
+            "Eva;Ruiz;" + Long.MAX_VALUE,
+            "Pia;Sanz;"
+        );
+
+        restImportMockMvc
+            .perform(post("/api/admin/import/app-users").contentType(TEXT_CSV).content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.table").value("app_user"))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(
+                jsonPath("$.errors").value(contains("line 3: lastname is required", "line 4: perfil " + Long.MAX_VALUE + " does not exist"))
+            );
+
+        assertThat(appUserRepository.count()).isEqualTo(appUserCount + 2);
+        assertThat(jdbcTemplate.queryForObject("select perfil_id from app_user where name = 'Ana'", Long.class))
+            .isEqualTo(perfil.getId());
+    }
+
+    @Test
+    @Transactional
+    void importPerfilsWithIdsMovesTheSequencePastThem() throws Exception {
+        long id = jdbcTemplate.queryForObject("select last_value from perfil_seq", Long.class) + 1_000_000;
+
+        restImportMockMvc
+            .perform(post("/api/admin/import/perfils").contentType(TEXT_CSV).content("id;name\n" + id + ";\"\"\"quoted\"\" name\"\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1));
+
+        assertThat(perfilRepository.findById(id)).get().extracting(Perfil::getName).isEqualTo("\"quoted\" name");
+        assertThat(jdbcTemplate.queryForObject("select nextval('perfil_seq')", Long.class)).isGreaterThan(id);
+    }
+
+    @Test
+    @Transactional
+    void importQuotedFields() throws Exception {
+        String csv = String.join("\n", "name;lastname", "\"Ana;Maria\";Diaz", "Luis;\"Ruiz", "Sanz\"", "Eva;", "");
+
+        restImportMockMvc
+            .perform(post("/api/admin/import/app-users").contentType(TEXT_CSV).content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.errors").value(contains("line 5: lastname is required")));
+
+        assertThat(jdbcTemplate.queryForObject("select lastname from app_user where name = 'Ana;Maria'", String.class))
+            .isEqualTo("Diaz");
+        assertThat(jdbcTemplate.queryForObject("select lastname from app_user where name = 'Luis'", String.class))
+            .isEqualTo("Ruiz\nSanz");
+    }
+
+    @Test
+    @Transactional
+    void importWithAnUnterminatedQuoteIsRejected() throws Exception {
+        restImportMockMvc
+            .perform(post("/api/admin/import/perfils").contentType(TEXT_CSV).content("name\n\"unterminated\n"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void importWithAnUnknownColumnIsRejected() throws Exception {
+        restImportMockMvc
+            .perform(post("/api/admin/import/perfils").contentType(TEXT_CSV).content("id;name;color\n1;name;red\n"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    void importRequiresTheAdminAuthority() throws Exception {
+        restImportMockMvc
+            .perform(post("/api/admin/import/perfils").contentType(TEXT_CSV).content("name\nname\n"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void importThroughput() throws Exception {
+        StringBuilder csv = new StringBuilder("name;lastname\n");
+        for (int i = 0; i < THROUGHPUT_ROWS; i++) {
+            csv.append("name").append(i).append(';').append("lastname").append(i).append('\n');
+        }
+
+        long start = System.nanoTime();
+        restImportMockMvc
+            .perform(post("/api/admin/import/app-users").contentType(TEXT_CSV).content(csv.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(THROUGHPUT_ROWS));
+        long elapsed = System.nanoTime() - start;
+
+        log.info("Imported {} appUsers at {} rows/s", THROUGHPUT_ROWS, THROUGHPUT_ROWS * TimeUnit.SECONDS.toNanos(1) / elapsed);
+    }
+}
@@ -1,6 +1,7 @@
 package com.jh.test.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -10,6 +11,8 @@ import com.jh.test.domain.Perfil;
 import com.jh.test.repository.PerfilRepository;
 import com.jh.test.service.dto.PerfilDTO;
 import com.jh.test.service.mapper.PerfilMapper;
+import com.jh.test.web.rest.util.CursorPaginationUtil;
+import com.jh.test.web.rest.util.ETagUtil;
 import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.Random;
@@ -18,6 +21,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -150,6 +154,36 @@ class PerfilResourceIT {
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
     }
 
+    @Test
+    @Transactional
+    void getAllPerfilsAfterACursor() throws Exception {
+        // Initialize the database
+        perfilRepository.saveAndFlush(perfil);
+        Perfil otherPerfil = createEntity(em);
+        perfilRepository.saveAndFlush(otherPerfil);
+
+        // Get the first slice, starting at the perfil
+        String cursor = CursorPaginationUtil.encodeCursor(perfil.getId() - 1);
+        String nextCursor = restPerfilMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + cursor + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(contains(perfil.getId().intValue())))
+            .andReturn()
+            .getResponse()
+            .getHeader(CursorPaginationUtil.HEADER_NEXT_CURSOR);
+        assertThat(CursorPaginationUtil.decodeCursor(nextCursor)).isEqualTo(perfil.getId());
+
+        // Get the next slice
+        restPerfilMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + nextCursor + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(otherPerfil.getId().intValue()));
+
+        // An invalid cursor is rejected
+        restPerfilMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getPerfil() throws Exception {
@@ -202,6 +236,64 @@ class PerfilResourceIT {
         assertThat(testPerfil.getName()).isEqualTo(UPDATED_NAME);
     }
 
+    @Test
+    @Transactional
+    void getPerfilNotModified() throws Exception {
+        // Initialize the database
+        perfilRepository.saveAndFlush(perfil);
+        String eTag = ETagUtil.eTag(perfil.getVersion());
+
+        restPerfilMockMvc
+            .perform(get(ENTITY_API_URL_ID, perfil.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        restPerfilMockMvc
+            .perform(get(ENTITY_API_URL_ID, perfil.getId()).header(HttpHeaders.IF_NONE_MATCH, "W/" + eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void putPerfilWithIfMatch() throws Exception {
+        // Initialize the database
+        perfilRepository.saveAndFlush(perfil);
+        String eTag = ETagUtil.eTag(perfil.getVersion());
+
+        PerfilDTO perfilDTO = perfilMapper.toDto(perfil);
+        perfilDTO.setName(UPDATED_NAME);
+
+        String updatedETag = restPerfilMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, perfilDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(perfilDTO))
+            )
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(updatedETag).isNotEqualTo(eTag);
+
+        // The first tag is now stale, so the same update is refused
+        restPerfilMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, perfilDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(perfilDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restPerfilMockMvc
+            .perform(get(ENTITY_API_URL_ID, perfil.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, updatedETag));
+    }
+
     @Test
     @Transactional
     void putNonExistingPerfil() throws Exception {
@@ -409,4 +501,26 @@ class PerfilResourceIT {
         List<Perfil> perfilList = perfilRepository.findAll();
         assertThat(perfilList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void bulkDeletePerfils() throws Exception {
+        // Initialize the database
+        Perfil other = perfilRepository.saveAndFlush(createUpdatedEntity(em));
+        perfilRepository.saveAndFlush(perfil);
+
+        int databaseSizeBeforeDelete = perfilRepository.findAll().size();
+
+        restPerfilMockMvc
+            .perform(
+                delete(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(perfil.getId(), other.getId(), Long.MAX_VALUE)))
+            )
+            .andExpect(status().isNoContent());
+
+        // Validate the database contains two less items
+        List<Perfil> perfilList = perfilRepository.findAll();
+        assertThat(perfilList).hasSize(databaseSizeBeforeDelete - 2);
+    }
 }
@@ -0,0 +1,71 @@
+package com.jh.test.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.jh.test.IntegrationTest;
+import com.jh.test.service.ReportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the {@link ReportResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ReportResourceIT {
+
+    private static final String DOWNLOAD_API_URL = "/api/report/download/{format}";
+
+    @Autowired
+    private MockMvc restReportMockMvc;
+
+    @Test
+    void downloadPdfReport() throws Exception {
+        assertDownload(ReportFormat.PDF);
+    }
+
+    @Test
+    void downloadExcelReport() throws Exception {
+        assertDownload(ReportFormat.EXCEL);
+    }
+
+    @Test
+    void downloadWordReport() throws Exception {
+        assertDownload(ReportFormat.WORD);
+    }
+
+    @Test
+    void downloadReportWithAnUnknownFormat() throws Exception {
+        restReportMockMvc
+            .perform(get(DOWNLOAD_API_URL, "odt"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.formatinvalid"));
+    }
+
+    private void assertDownload(ReportFormat format) throws Exception {
+        // The document is streamed once the report is filled
+        MvcResult download = restReportMockMvc
+            .perform(get(DOWNLOAD_API_URL, format.getValue()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        byte[] document = restReportMockMvc
+            .perform(asyncDispatch(download))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(format.getContentType()))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"list_user." + format.getExtension() + "\""))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        assertThat(document).isNotEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package com.jh.test.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link CursorPaginationUtil} utility class.
+ */
+class CursorPaginationUtilTest {
+
+    private static final String BASE_URL = "/api/_search/example";
+
+    @Test
+    void cursorRoundTrip() {
+        String cursor = CursorPaginationUtil.encodeCursor(1234L);
+        assertThat(cursor).doesNotContain("1234");
+        assertThat(CursorPaginationUtil.decodeCursor(cursor)).isEqualTo(1234L);
+    }
+
+    @Test
+    void emptyCursorStartsAtTheFirstSlice() {
+        assertThat(CursorPaginationUtil.decodeCursor("")).isNull();
+        assertThat(CursorPaginationUtil.decodeCursor(null)).isNull();
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThatThrownBy(() -> CursorPaginationUtil.decodeCursor("%%%")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorPaginationUtil.decodeCursor(CursorPaginationUtil.encodeCursor(1L) + "x"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pageSizeIsBounded() {
+        assertThat(CursorPaginationUtil.pageSize(0)).isEqualTo(CursorPaginationUtil.DEFAULT_PAGE_SIZE);
+        assertThat(CursorPaginationUtil.pageSize(50)).isEqualTo(50);
+        assertThat(CursorPaginationUtil.pageSize(100000)).isEqualTo(CursorPaginationUtil.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void generateCursorPaginationHttpHeadersTest() {
+        SliceImpl<Long> slice = new SliceImpl<>(List.of(3L, 7L), PageRequest.of(0, 2), true);
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(BASE_URL).queryParam("after", "");
+
+        HttpHeaders headers = CursorPaginationUtil.generateCursorPaginationHttpHeaders(uriBuilder, slice, Function.identity());
+
+        String nextCursor = headers.getFirst(CursorPaginationUtil.HEADER_NEXT_CURSOR);
+        assertThat(CursorPaginationUtil.decodeCursor(nextCursor)).isEqualTo(7L);
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo("<" + BASE_URL + "?after=" + nextCursor + "&size=2>; rel=\"next\"");
+        assertThat(headers.get("X-Total-Count")).isNull();
+    }
+
+    @Test
+    void lastSliceHasNoNextCursor() {
+        SliceImpl<Long> slice = new SliceImpl<>(List.of(3L), PageRequest.of(0, 2), false);
+
+        HttpHeaders headers = CursorPaginationUtil.generateCursorPaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString(BASE_URL),
+            slice,
+            Function.identity()
+        );
+
+        assertThat(headers).isEmpty();
+    }
+}
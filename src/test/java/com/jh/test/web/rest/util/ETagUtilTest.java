@@ -0,0 +1,37 @@
+package com.jh.test.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ETagUtil} utility class.
+ */
+class ETagUtilTest {
+
+    @Test
+    void eTagJoinsThePresentVersions() {
+        assertThat(ETagUtil.eTag(3L)).isEqualTo("\"3\"");
+        assertThat(ETagUtil.eTag(3L, 1L)).isEqualTo("\"3.1\"");
+        assertThat(ETagUtil.eTag(3L, null)).isEqualTo("\"3\"");
+    }
+
+    @Test
+    void ifMatchUsesTheStrongComparison() {
+        assertThat(ETagUtil.ifMatch(null, "\"3\"")).isTrue();
+        assertThat(ETagUtil.ifMatch("\"3\"", "\"3\"")).isTrue();
+        assertThat(ETagUtil.ifMatch("\"2\", \"3\"", "\"3\"")).isTrue();
+        assertThat(ETagUtil.ifMatch("*", "\"3\"")).isTrue();
+        assertThat(ETagUtil.ifMatch("\"2\"", "\"3\"")).isFalse();
+        assertThat(ETagUtil.ifMatch("W/\"3\"", "\"3\"")).isFalse();
+    }
+
+    @Test
+    void ifNoneMatchUsesTheWeakComparison() {
+        assertThat(ETagUtil.ifNoneMatch(null, "\"3\"")).isFalse();
+        assertThat(ETagUtil.ifNoneMatch("\"3\"", "\"3\"")).isTrue();
+        assertThat(ETagUtil.ifNoneMatch("W/\"3\"", "\"3\"")).isTrue();
+        assertThat(ETagUtil.ifNoneMatch("\"2\", W/\"3\"", "\"3\"")).isTrue();
+        assertThat(ETagUtil.ifNoneMatch("\"3.1\"", "\"3\"")).isFalse();
+    }
+}